@@ -0,0 +1,41 @@
+// Read-heavy load test for comparing platform-thread and virtual-thread request execution.
+//
+// Start the application once with VIRTUAL_THREADS_ENABLED=false and once with VIRTUAL_THREADS_ENABLED=true
+// against the same database, then run:
+//   k6 run --summary-export=target/k6-platform.json load-tests/features-read.js
+//   k6 run --summary-export=target/k6-virtual.json load-tests/features-read.js
+// and compare http_reqs (throughput) and the p(99) of http_req_duration.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const PRODUCT_CODE = __ENV.PRODUCT_CODE || 'intellij';
+
+export const options = {
+    scenarios: {
+        constant_arrival: {
+            executor: 'constant-arrival-rate',
+            rate: Number(__ENV.RATE || 500),
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '2m',
+            preAllocatedVUs: 200,
+            maxVUs: Number(__ENV.MAX_VUS || 2000),
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export default function () {
+    const features = http.get(`${BASE_URL}/api/features?productCode=${PRODUCT_CODE}&limit=50`, {
+        tags: { name: 'features-by-product' },
+    });
+    check(features, { 'features 200': (r) => r.status === 200 });
+
+    const product = http.get(`${BASE_URL}/api/products/${PRODUCT_CODE}`, {
+        tags: { name: 'product-by-code' },
+    });
+    check(product, { 'product 200': (r) => r.status === 200 });
+}
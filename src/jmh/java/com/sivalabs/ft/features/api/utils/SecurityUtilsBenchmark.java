@@ -0,0 +1,68 @@
+package com.sivalabs.ft.features.api.utils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * Benchmarks resolving the current user from a Keycloak style JWT in the security context,
+ * either from the claims on every call or precomputed when the request was authenticated.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityUtilsBenchmark {
+
+    @Param({"claims", "precomputed"})
+    public String loginUser;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> claims = Map.of(
+                "preferred_username", "siva",
+                "email", "siva@example.com",
+                "name", "Siva",
+                "realm_access", Map.of("roles", List.of("ROLE_USER", "ROLE_ADMIN")));
+        Jwt jwt = new Jwt(
+                "benchmark-token",
+                Instant.now(),
+                Instant.now().plusSeconds(3600),
+                Map.of("alg", "RS256"),
+                claims);
+        var authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        var authentication = loginUser.equals("precomputed")
+                ? new LoginUserAuthenticationToken(jwt, authorities)
+                : new JwtAuthenticationToken(jwt, authorities);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String getCurrentUsername() {
+        return SecurityUtils.getCurrentUsername();
+    }
+}
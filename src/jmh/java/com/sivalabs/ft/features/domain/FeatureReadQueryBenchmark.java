@@ -0,0 +1,127 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.FeatureServiceApplication;
+import com.sivalabs.ft.features.TestcontainersConfiguration;
+import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.entities.Feature;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares loading a product's features as managed entities mapped to DTOs, as the read paths used to,
+ * with selecting them straight into {@link FeatureDto} records.
+ * Runs against Postgres in a container, so Docker is required.
+ * Run with {@code -prof gc} (e.g. {@code -Djmh.args="FeatureReadQueryBenchmark -prof gc"}) to see the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeatureReadQueryBenchmark {
+    private static final String PRODUCT_CODE = "benchmark";
+
+    @Param({"1000", "10000"})
+    int featureCount;
+
+    private ConfigurableApplicationContext context;
+    private FeatureRepository featureRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FeatureServiceApplication.class, TestcontainersConfiguration.class)
+                .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        featureRepository = context.getBean(FeatureRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        var jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update(
+                """
+                insert into products (code, prefix, name, description, image_url, disabled, created_by)
+                values (?, 'BENCH', 'Benchmark', 'Benchmark product', 'https://example.com/logo.png', false, 'admin')
+                """,
+                PRODUCT_CODE);
+        jdbcTemplate.update(
+                """
+                insert into releases (product_id, code, description, status, created_by)
+                select id, 'BENCH-1.0', 'Benchmark release', 'RELEASED', 'admin' from products where code = ?
+                """,
+                PRODUCT_CODE);
+        jdbcTemplate.update(
+                """
+                insert into features (product_id, release_id, code, title, description, status, created_by, assigned_to)
+                select p.id, r.id, 'BENCH-' || g, 'Feature ' || g, 'Description of feature ' || g,
+                       'IN_PROGRESS', 'admin', 'siva'
+                from products p join releases r on r.product_id = p.id, generate_series(1, ?) g
+                where p.code = ?
+                """,
+                featureCount,
+                PRODUCT_CODE);
+        jdbcTemplate.execute("analyze features");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<FeatureDto> entityHydration() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery(
+                        "select f from Feature f left join fetch f.release where f.product.code = :productCode",
+                        Feature.class)
+                .setParameter("productCode", PRODUCT_CODE)
+                .getResultStream()
+                .map(FeatureReadQueryBenchmark::toDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<FeatureDto> dtoProjection() {
+        return readOnlyTransaction.execute(status -> featureRepository.findDtosByProductCode(PRODUCT_CODE));
+    }
+
+    // The entity to DTO mapping the read paths used before they selected DTOs directly
+    private static FeatureDto toDto(Feature feature) {
+        return new FeatureDto(
+                feature.getId(),
+                feature.getCode(),
+                feature.getTitle(),
+                feature.getDescription(),
+                feature.getStatus(),
+                feature.getRelease() == null ? null : feature.getRelease().getCode(),
+                false,
+                feature.getAssignedTo(),
+                feature.getCreatedBy(),
+                feature.getCreatedAt(),
+                feature.getUpdatedBy(),
+                feature.getUpdatedAt(),
+                feature.getVersion());
+    }
+}
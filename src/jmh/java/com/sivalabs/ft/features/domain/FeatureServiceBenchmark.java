@@ -0,0 +1,111 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the feature read path on top of in-memory repositories:
+ * favorite marking and {@code FeatureService.updateFavoriteStatus}.
+ * See {@link FeatureReadQueryBenchmark} for the cost of the queries themselves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeatureServiceBenchmark {
+    private static final String PRODUCT_CODE = "intellij";
+    private static final String USERNAME = "user";
+
+    @Param({"10", "1000"})
+    int featureCount;
+
+    private List<FeatureDto> features;
+    private FeatureDto featureDto;
+    private FeatureService featureService;
+
+    @Setup
+    public void setUp() {
+        features = new ArrayList<>(featureCount);
+        for (long id = 1; id <= featureCount; id++) {
+            features.add(newFeature(id));
+        }
+        featureDto = features.getFirst();
+        // every tenth feature is a favorite of the user
+        List<Long> favoriteIds = LongStream.rangeClosed(1, featureCount)
+                .filter(id -> id % 10 == 0)
+                .boxed()
+                .toList();
+
+        FeatureRepository featureRepository = InMemoryRepositories.stub(
+                FeatureRepository.class, Map.of("findDtosByProductCode", args -> features));
+        FavoriteFeatureRepository favoriteFeatureRepository = InMemoryRepositories.stub(
+                FavoriteFeatureRepository.class, Map.of("findFeatureIdsByUserId", args -> favoriteIds));
+        ReleaseRepository releaseRepository = InMemoryRepositories.stub(ReleaseRepository.class, Map.of());
+        ProductRepository productRepository = InMemoryRepositories.stub(ProductRepository.class, Map.of());
+        var favoriteFeatureService = new FavoriteFeatureService(favoriteFeatureRepository, featureRepository);
+        // the read path doesn't publish events or resolve products and releases
+        featureService = new FeatureService(
+                favoriteFeatureService,
+                null,
+                null,
+                releaseRepository,
+                featureRepository,
+                productRepository,
+                favoriteFeatureRepository,
+                null,
+                null,
+                null,
+                null);
+    }
+
+    private static FeatureDto newFeature(long id) {
+        return new FeatureDto(
+                id,
+                "IDEA-" + id,
+                "Feature " + id,
+                "Description of feature " + id,
+                FeatureStatus.IN_PROGRESS,
+                "IDEA-2025.1",
+                false,
+                "siva",
+                "admin",
+                Instant.parse("2025-01-01T00:00:00Z"),
+                null,
+                null,
+                0L);
+    }
+
+    @Benchmark
+    public FeatureDto makeFavorite() {
+        return featureDto.makeFavorite(true);
+    }
+
+    @Benchmark
+    public List<FeatureDto> findFeaturesByProductAnonymous() {
+        return featureService.findFeaturesByProduct(null, PRODUCT_CODE);
+    }
+
+    @Benchmark
+    public List<FeatureDto> findFeaturesByProductWithFavorites() {
+        return featureService.findFeaturesByProduct(USERNAME, PRODUCT_CODE);
+    }
+}
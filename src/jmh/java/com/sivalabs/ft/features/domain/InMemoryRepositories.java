@@ -0,0 +1,30 @@
+package com.sivalabs.ft.features.domain;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Builds in-memory stand-ins for the Spring Data repositories so that service code can be
+ * benchmarked without a database. Only the methods given in {@code answers} are supported.
+ */
+final class InMemoryRepositories {
+    private InMemoryRepositories() {}
+
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> repositoryType, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(
+                repositoryType.getClassLoader(), new Class<?>[] {repositoryType}, (proxy, method, args) -> {
+                    var answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args);
+                    }
+                    return switch (method.getName()) {
+                        case "toString" -> "InMemory" + repositoryType.getSimpleName();
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> throw new UnsupportedOperationException(method.toString());
+                    };
+                });
+    }
+}
@@ -0,0 +1,71 @@
+package com.sivalabs.ft.features.domain.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Benchmarks the serialization of {@link FeatureCreatedEvent}: as JSON written to the outbox,
+ * through the Kafka {@link JsonSerializer} including the type headers, and as Avro binary.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+    private static final String TOPIC = "new_features";
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+    private JsonSerializer<Object> kafkaSerializer;
+    private AvroEventCodec avroCodec;
+    private FeatureCreatedEvent event;
+
+    @Setup
+    public void setUp() {
+        kafkaSerializer = new JsonSerializer<>(objectMapper);
+        avroCodec = AvroEventCodec.fromRegistry();
+        event = new FeatureCreatedEvent(
+                358562L,
+                "IDEA-358562",
+                "Support Gradle Daemon Toolchains in UI",
+                "Gradle 8.8 introduced JVM toolchains support for the Gradle daemon itself. "
+                        + "This feature works seamlessly with the current IDEA integration.",
+                FeatureStatus.NEW,
+                "IDEA-2025.1",
+                "marcobehler",
+                "siva",
+                Instant.parse("2024-08-30T00:00:00Z"));
+    }
+
+    @Benchmark
+    public String serializeToOutboxPayload() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(event);
+    }
+
+    @Benchmark
+    public byte[] serializeWithKafkaJsonSerializer() {
+        return kafkaSerializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public byte[] serializeWithAvroCodec() {
+        return avroCodec.encode(event, new RecordHeaders());
+    }
+}
@@ -1,9 +1,117 @@
 package com.sivalabs.ft.features;
 
+import com.sivalabs.ft.features.domain.events.EventFormat;
+import com.sivalabs.ft.features.domain.events.OverflowPolicy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @ConfigurationProperties(prefix = "ft")
-public record ApplicationProperties(EventsProperties events) {
+public record ApplicationProperties(
+        EventsProperties events,
+        @DefaultValue CacheProperties cache,
+        @DefaultValue DbProperties db,
+        @DefaultValue ReleasesProperties releases,
+        @DefaultValue SecurityProperties security,
+        @DefaultValue FeaturesProperties features) {
 
-    public record EventsProperties(String newFeatures, String updatedFeatures, String deletedFeatures) {}
+    /**
+     * @param formats wire format by topic name, topics not listed here are written as JSON
+     * @param coalesceWindow updates of a feature within this window after its first pending update are sent
+     *     as a single event with the final state, and a delete drops the pending update; 0 sends every update
+     */
+    public record EventsProperties(
+            String newFeatures,
+            String updatedFeatures,
+            String deletedFeatures,
+            @DefaultValue OutboxProperties outbox,
+            @DefaultValue Map<String, EventFormat> formats,
+            @DefaultValue SendQueueProperties sendQueue,
+            @DefaultValue("0s") Duration coalesceWindow) {}
+
+    /**
+     * @param retryBackoff pause after a failed batch, doubled with every further failure
+     * @param maxRetryBackoff upper bound of the pause after failed batches
+     */
+    public record OutboxProperties(
+            @DefaultValue("500") int batchSize,
+            @DefaultValue("10s") Duration sendTimeout,
+            @DefaultValue("1s") Duration retryBackoff,
+            @DefaultValue("1m") Duration maxRetryBackoff) {}
+
+    /**
+     * @param capacity messages waiting to be sent before the overflow policy applies
+     * @param overflow what a caller does when the queue is full
+     * @param blockTimeout how long a caller waits for space with {@link OverflowPolicy#BLOCK} before the message is shed
+     * @param maxAttempts sends of a message before it is given up
+     * @param retryBackoff pause before the first retry, doubled with every further attempt
+     * @param maxRetryBackoff upper bound of the pause between retries
+     */
+    public record SendQueueProperties(
+            @DefaultValue("10000") int capacity,
+            @DefaultValue("block") OverflowPolicy overflow,
+            @DefaultValue("100ms") Duration blockTimeout,
+            @DefaultValue("5") int maxAttempts,
+            @DefaultValue("200ms") Duration retryBackoff,
+            @DefaultValue("10s") Duration maxRetryBackoff) {}
+
+    public record CacheProperties(@DefaultValue("cache_invalidations") String invalidationTopic) {}
+
+    public record DbProperties(@DefaultValue ReplicaProperties replicas) {}
+
+    /**
+     * @param enabled route read-only transactions to the replicas
+     * @param urls JDBC urls of the replicas
+     * @param maxPoolSize connection pool size of each replica
+     * @param maxLag a replica whose replay lags the primary by more than this is taken out of rotation
+     * @param healthCheckInterval how often reachability and replay lag of each replica are checked
+     * @param readYourWrites return the primary's WAL position after writes and serve reads that send it back
+     *     only from replicas that have replayed up to it
+     */
+    public record ReplicaProperties(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue List<String> urls,
+            String username,
+            String password,
+            @DefaultValue("10") int maxPoolSize,
+            @DefaultValue("30s") Duration maxLag,
+            @DefaultValue("5s") Duration healthCheckInterval,
+            @DefaultValue("false") boolean readYourWrites) {}
+
+    /**
+     * @param deletionChunkSize releases with more features than this are deleted in the background,
+     *     unassigning this many features per transaction
+     * @param deletionJobStaleAfter a running deletion job without progress for this long is considered dead
+     *     and is restarted by the next delete request
+     */
+    public record ReleasesProperties(
+            @DefaultValue("1000") int deletionChunkSize, @DefaultValue("5m") Duration deletionJobStaleAfter) {}
+
+    /**
+     * @param tokenCacheSize validated JWTs kept until they expire, so their signature is verified only once
+     */
+    public record SecurityProperties(@DefaultValue("10000") long tokenCacheSize) {}
+
+    /**
+     * @param changeRetention how long changes are kept for the change feed; clients that haven't synced
+     *     for longer have to reload all features
+     */
+    public record FeaturesProperties(
+            @DefaultValue("30d") Duration changeRetention, @DefaultValue StreamProperties stream) {}
+
+    /**
+     * @param bufferSize events buffered per connection; a client that falls this far behind is disconnected
+     * @param timeout connections are closed after this long, clients reconnect on their own
+     * @param heartbeatInterval how often idle connections get a comment, so that dead ones are noticed
+     *     and proxies keep them open
+     * @param kafkaRetryInterval how long to wait for Kafka when looking up the partitions of the feature topics,
+     *     and between attempts while it is unavailable
+     */
+    public record StreamProperties(
+            @DefaultValue("256") int bufferSize,
+            @DefaultValue("30m") Duration timeout,
+            @DefaultValue("30s") Duration heartbeatInterval,
+            @DefaultValue("10s") Duration kafkaRetryInterval) {}
 }
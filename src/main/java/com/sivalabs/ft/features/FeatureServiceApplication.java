@@ -3,11 +3,16 @@ package com.sivalabs.ft.features;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ConfigurationPropertiesScan
 @EnableScheduling
+// Caching advice wraps the transactional advice: evictions happen after commit
+// and cache hits don't open a transaction at all.
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
 public class FeatureServiceApplication {
 
     public static void main(String[] args) {
@@ -3,10 +3,13 @@ package com.sivalabs.ft.features.api;
 import static org.springframework.http.HttpStatus.*;
 
 import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import com.sivalabs.ft.features.domain.exceptions.ChangeTokenExpiredException;
+import com.sivalabs.ft.features.domain.exceptions.PreconditionFailedException;
 import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
 import java.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -42,4 +45,32 @@ class GlobalExceptionHandler {
         problemDetail.setProperty("timestamp", Instant.now());
         return problemDetail;
     }
+
+    @ExceptionHandler(ChangeTokenExpiredException.class)
+    ProblemDetail handle(ChangeTokenExpiredException e) {
+        log.info("Change token expired");
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(GONE, e.getMessage());
+        problemDetail.setTitle("Gone");
+        problemDetail.setProperty("timestamp", Instant.now());
+        return problemDetail;
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    ProblemDetail handle(PreconditionFailedException e) {
+        log.info("Precondition failed: {}", e.getMessage());
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(PRECONDITION_FAILED, e.getMessage());
+        problemDetail.setTitle("Precondition Failed");
+        problemDetail.setProperty("timestamp", Instant.now());
+        return problemDetail;
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    ProblemDetail handle(OptimisticLockingFailureException e) {
+        log.warn("Concurrent modification", e);
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                CONFLICT, "The resource was modified concurrently, reload it and try again");
+        problemDetail.setTitle("Conflict");
+        problemDetail.setProperty("timestamp", Instant.now());
+        return problemDetail;
+    }
 }
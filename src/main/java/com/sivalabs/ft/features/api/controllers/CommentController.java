@@ -5,6 +5,8 @@ import com.sivalabs.ft.features.api.utils.SecurityUtils;
 import com.sivalabs.ft.features.domain.Commands.CreateCommentCommand;
 import com.sivalabs.ft.features.domain.CommentService;
 import com.sivalabs.ft.features.domain.dtos.CommentDto;
+import com.sivalabs.ft.features.domain.dtos.PagedResult;
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,6 +15,7 @@ import jakarta.validation.Valid;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -74,17 +77,45 @@ class CommentController {
     @GetMapping
     @Operation(
             summary = "Get comments by feature code",
-            description = "Retrieve comments for a specific feature",
+            description =
+                    """
+                    Retrieve comments for a specific feature, newest first (order=desc, the default)
+                    or oldest first (order=asc). The cursor for the next page, if any,
+                    is returned in the X-Next-Cursor response header.
+                    """,
             responses = {
-                @ApiResponse(responseCode = "200", description = "Comments retrieved successfully"),
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Comments retrieved successfully",
+                        headers =
+                                @Header(
+                                        name = FeatureController.NEXT_CURSOR_HEADER,
+                                        description = "Cursor to pass as 'after' to fetch the next page")),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Invalid cursor, size or order, or the no longer supported 'page' parameter"),
                 @ApiResponse(responseCode = "404", description = "Feature not found")
             })
     ResponseEntity<List<CommentDto>> getCommentsByFeatureCode(
             @RequestParam String featureCode,
-            @RequestParam(defaultValue = "0", required = false) int page,
-            @RequestParam(defaultValue = "10", required = false) int size) {
-        List<CommentDto> comments = commentService.findCommentsByFeatureCode(featureCode, page, size);
-        log.info("Retrieved {} comments for feature code: {}", comments.size(), featureCode);
-        return ResponseEntity.ok(comments);
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10", required = false) int size,
+            @RequestParam(defaultValue = "desc", required = false) String order,
+            @RequestParam(required = false) Integer page) {
+        if (page != null) {
+            // offset paging was replaced by cursors, fail loudly rather than return the first page for every page
+            throw new BadRequestException("page is no longer supported, pass the "
+                    + FeatureController.NEXT_CURSOR_HEADER + " header of the previous page as 'after'");
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(order)
+                .orElseThrow(() -> new BadRequestException("order must be asc or desc"));
+        PagedResult<CommentDto> comments =
+                commentService.findCommentsByFeatureCode(featureCode, after, size, direction);
+        log.info("Retrieved {} comments for feature code: {}", comments.content().size(), featureCode);
+        var response = ResponseEntity.ok();
+        if (comments.hasNext()) {
+            response.header(FeatureController.NEXT_CURSOR_HEADER, comments.nextCursor());
+        }
+        return response.body(comments.content());
     }
 }
@@ -1,13 +1,23 @@
 package com.sivalabs.ft.features.api.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sivalabs.ft.features.api.models.CreateFeaturePayload;
+import com.sivalabs.ft.features.api.models.FeatureBatchPayload;
 import com.sivalabs.ft.features.api.models.UpdateFeaturePayload;
 import com.sivalabs.ft.features.api.utils.SecurityUtils;
 import com.sivalabs.ft.features.domain.*;
 import com.sivalabs.ft.features.domain.Commands.CreateFeatureCommand;
 import com.sivalabs.ft.features.domain.Commands.DeleteFeatureCommand;
+import com.sivalabs.ft.features.domain.Commands.FeatureBatchItem;
 import com.sivalabs.ft.features.domain.Commands.UpdateFeatureCommand;
+import com.sivalabs.ft.features.domain.dtos.FeatureBatchResult;
+import com.sivalabs.ft.features.domain.dtos.FeatureChangesDto;
 import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.dtos.PagedResult;
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import com.sivalabs.ft.features.domain.exceptions.PreconditionFailedException;
+import com.sivalabs.ft.features.domain.models.FeatureSearchCriteria;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -17,14 +27,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -32,9 +43,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
@@ -42,53 +57,242 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 @Tag(name = "Features API")
 class FeatureController {
     private static final Logger log = LoggerFactory.getLogger(FeatureController.class);
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final FeatureService featureService;
-    private final FavoriteFeatureService favoriteFeatureService;
+    private final FeatureBatchService featureBatchService;
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final FeatureStreams featureStreams;
 
-    FeatureController(FeatureService featureService, FavoriteFeatureService favoriteFeatureService) {
+    FeatureController(
+            FeatureService featureService,
+            FeatureBatchService featureBatchService,
+            ProductService productService,
+            ObjectMapper objectMapper,
+            FeatureStreams featureStreams) {
         this.featureService = featureService;
-        this.favoriteFeatureService = favoriteFeatureService;
+        this.featureBatchService = featureBatchService;
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.featureStreams = featureStreams;
     }
 
     @GetMapping("")
     @Operation(
             summary = "Find features by product or release",
-            description = "Find features by product or release",
+            description =
+                    """
+                    Find features by product or release.
+                    When 'limit' or 'after' is given, results are paginated by feature id and the cursor
+                    for the next page, if any, is returned in the X-Next-Cursor response header.
+                    """,
             responses = {
                 @ApiResponse(
                         responseCode = "200",
                         description = "Successful response",
+                        headers =
+                                @Header(
+                                        name = NEXT_CURSOR_HEADER,
+                                        description = "Cursor to pass as 'after' to fetch the next page"),
                         content =
                                 @Content(
                                         mediaType = "application/json",
-                                        array = @ArraySchema(schema = @Schema(implementation = FeatureDto.class))))
+                                        array = @ArraySchema(schema = @Schema(implementation = FeatureDto.class)))),
+                @ApiResponse(responseCode = "304", description = "Not modified since the ETag given in If-None-Match"),
+                @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
             })
-    List<FeatureDto> getFeatures(
+    ResponseEntity<List<FeatureDto>> getFeatures(
             @RequestParam(value = "productCode", required = false) String productCode,
-            @RequestParam(value = "releaseCode", required = false) String releaseCode) {
+            @RequestParam(value = "releaseCode", required = false) String releaseCode,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest request) {
         // Only one of productCode or releaseCode should be provided
         if ((StringUtils.isBlank(productCode) && StringUtils.isBlank(releaseCode))
                 || (StringUtils.isNotBlank(productCode) && StringUtils.isNotBlank(releaseCode))) {
             // TODO: Return 400 Bad Request
-            return List.of();
+            return ResponseEntity.ok(List.of());
         }
         String username = SecurityUtils.getCurrentUsername();
-        List<FeatureDto> featureDtos;
+        String versionTag = StringUtils.isNotBlank(productCode)
+                ? featureService.getFeaturesVersionTagByProduct(username, productCode)
+                : featureService.getFeaturesVersionTagByRelease(username, releaseCode);
+        // checkNotModified() also sets the ETag header on the response
+        if (request.checkNotModified(versionTag)) {
+            return null;
+        }
+        if (after == null && limit == null) {
+            List<FeatureDto> featureDtos;
+            if (StringUtils.isNotBlank(productCode)) {
+                featureDtos = featureService.findFeaturesByProduct(username, productCode);
+            } else {
+                featureDtos = featureService.findFeaturesByRelease(username, releaseCode);
+            }
+            return ResponseEntity.ok(featureDtos);
+        }
+
+        int pageSize = limit != null ? limit : FeatureService.DEFAULT_PAGE_SIZE;
+        PagedResult<FeatureDto> page;
         if (StringUtils.isNotBlank(productCode)) {
-            featureDtos = featureService.findFeaturesByProduct(username, productCode);
+            page = featureService.findFeaturesByProduct(username, productCode, after, pageSize);
         } else {
-            featureDtos = featureService.findFeaturesByRelease(username, releaseCode);
+            page = featureService.findFeaturesByRelease(username, releaseCode, after, pageSize);
+        }
+        var response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
+    }
+
+    @GetMapping("/export")
+    @Operation(
+            summary = "Export all features of a product",
+            description =
+                    """
+                    Streams all features of a product as NDJSON (format=ndjson, the default) or CSV (format=csv),
+                    including the favorite flag of the current user and the release code.
+                    Rows are read in pages of 500, each in its own short read-only transaction,
+                    so memory use stays constant and no connection is held while the client reads.
+                    """,
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+                @ApiResponse(responseCode = "400", description = "Unsupported format"),
+                @ApiResponse(responseCode = "404", description = "Product not found")
+            })
+    ResponseEntity<StreamingResponseBody> exportFeatures(
+            @RequestParam("productCode") String productCode,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        var exportFormat = FeatureExportWriter.Format.of(format);
+        if (productService.findProductByCode(productCode).isEmpty()) {
+            return ResponseEntity.notFound().build();
         }
+        // Resolve the user up front: the body is written on an async thread without the security context
+        String username = SecurityUtils.getCurrentUsername();
+        StreamingResponseBody body = out -> {
+            try (var writer = FeatureExportWriter.open(exportFormat, out, objectMapper)) {
+                String after = null;
+                do {
+                    PagedResult<FeatureDto> page = featureService.findFeaturesByProduct(
+                            username, productCode, after, FeatureService.MAX_PAGE_SIZE);
+                    writer.write(page.content());
+                    after = page.nextCursor();
+                } while (after != null);
+            }
+        };
+        String filename = productCode + "-features." + exportFormat.fileExtension();
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment()
+                                .filename(filename)
+                                .build()
+                                .toString())
+                .body(body);
+    }
+
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Find changes of the features of a product",
+            description =
+                    """
+                    Returns the features of a product created, updated or deleted after 'since', each once with
+                    its latest change, oldest first. Created and updated features come with their current state,
+                    deleted ones as tombstones. Pass the returned token as 'since' to get the next changes;
+                    'hasMore' tells that more are available right away.
+                    Without 'since' no changes are returned, only a token for the current position: fetch it
+                    before loading all features, then poll with it. Tokens expire after the change retention
+                    (30 days by default), in which case 410 is returned and all features have to be reloaded.
+                    """,
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = FeatureChangesDto.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid token or limit"),
+                @ApiResponse(responseCode = "404", description = "Product not found"),
+                @ApiResponse(responseCode = "410", description = "Token expired")
+            })
+    FeatureChangesDto getFeatureChanges(
+            @RequestParam("productCode") String productCode,
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "limit", defaultValue = "500") int limit) {
+        String username = SecurityUtils.getCurrentUsername();
+        return featureService.findFeatureChanges(username, productCode, StringUtils.trimToNull(since), limit);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream changes of the features of a product",
+            description =
+                    """
+                    Server-Sent Events stream of the features of a product as they are created, updated and
+                    deleted. Events are named 'created', 'updated' and 'deleted' and carry the feature event as
+                    JSON. Idle connections get an empty comment every 30 seconds. Clients that fall too far behind
+                    are disconnected; after reconnecting they can catch up with /api/features/changes.
+                    """,
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+                @ApiResponse(responseCode = "404", description = "Product not found")
+            })
+    ResponseEntity<SseEmitter> streamFeatureChanges(@RequestParam("productCode") String productCode) {
+        return productService
+                .findProductByCode(productCode)
+                .map(product -> ResponseEntity.ok(featureStreams.open(product.prefix())))
+                .orElse(ResponseEntity.notFound().build());
+    }
 
-        if (username != null && !featureDtos.isEmpty()) {
-            Set<String> featureCodes =
-                    featureDtos.stream().map(FeatureDto::code).collect(Collectors.toSet());
-            Map<String, Boolean> favoriteFeatures = favoriteFeatureService.getFavoriteFeatures(username, featureCodes);
-            featureDtos = featureDtos.stream()
-                    .map(featureDto -> featureDto.makeFavorite(favoriteFeatures.get(featureDto.code())))
-                    .toList();
+    @GetMapping("/search")
+    @Operation(
+            summary = "Search features",
+            description =
+                    """
+                    Full-text search over feature titles and descriptions, best match first.
+                    'q' uses web search syntax: quoted phrases, "or", and "-" to exclude words.
+                    Results can be narrowed by product, release and status. The cursor for the next page,
+                    if any, is returned in the X-Next-Cursor response header. Only the first 1000 matches
+                    can be paged through.
+                    """,
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        headers =
+                                @Header(
+                                        name = NEXT_CURSOR_HEADER,
+                                        description = "Cursor to pass as 'after' to fetch the next page"),
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        array = @ArraySchema(schema = @Schema(implementation = FeatureDto.class)))),
+                @ApiResponse(responseCode = "400", description = "Missing query, invalid cursor or limit")
+            })
+    ResponseEntity<List<FeatureDto>> searchFeatures(
+            @RequestParam("q") String query,
+            @RequestParam(value = "productCode", required = false) String productCode,
+            @RequestParam(value = "releaseCode", required = false) String releaseCode,
+            @RequestParam(value = "status", required = false) FeatureStatus status,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        String username = SecurityUtils.getCurrentUsername();
+        var criteria = new FeatureSearchCriteria(
+                query, StringUtils.trimToNull(productCode), StringUtils.trimToNull(releaseCode), status);
+        PagedResult<FeatureDto> page = featureService.searchFeatures(username, criteria, after, limit);
+        var response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
         }
-        return featureDtos;
+        return response.body(page.content());
     }
 
     @GetMapping("/{code}")
@@ -103,19 +307,20 @@ class FeatureController {
                                 @Content(
                                         mediaType = "application/json",
                                         schema = @Schema(implementation = FeatureDto.class))),
+                @ApiResponse(responseCode = "304", description = "Not modified since the ETag given in If-None-Match"),
                 @ApiResponse(responseCode = "404", description = "Feature not found")
             })
-    ResponseEntity<FeatureDto> getFeature(@PathVariable String code) {
+    ResponseEntity<FeatureDto> getFeature(@PathVariable String code, WebRequest request) {
         String username = SecurityUtils.getCurrentUsername();
-        Optional<FeatureDto> featureDtoOptional = featureService.findFeatureByCode(username, code);
-        if (username != null && featureDtoOptional.isPresent()) {
-            FeatureDto featureDto = featureDtoOptional.get();
-            Set<String> featureCodes = Set.of(featureDto.code());
-            Map<String, Boolean> favoriteFeatures = favoriteFeatureService.getFavoriteFeatures(username, featureCodes);
-            featureDto = featureDto.makeFavorite(favoriteFeatures.get(featureDto.code()));
-            featureDtoOptional = Optional.of(featureDto);
+        Optional<String> versionTag = featureService.findFeatureVersionTag(username, code);
+        if (versionTag.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(versionTag.get())) {
+            return null;
         }
-        return featureDtoOptional
+        return featureService
+                .findFeatureByCode(username, code)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -155,6 +360,69 @@ class FeatureController {
         return ResponseEntity.created(location).build();
     }
 
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Create, update and delete features in bulk",
+            description =
+                    """
+                    Applies up to 1000 CREATE, UPDATE and DELETE items in one transaction.
+                    The response has one result per item, in request order. Items that fail validation
+                    are reported with status FAILED and an error message; the other items are applied.
+                    """,
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        array =
+                                                @ArraySchema(
+                                                        schema = @Schema(implementation = FeatureBatchResult.class)))),
+                @ApiResponse(responseCode = "400", description = "Invalid request"),
+                @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                @ApiResponse(responseCode = "403", description = "Forbidden"),
+            })
+    List<FeatureBatchResult> processFeatureBatch(@RequestBody FeatureBatchPayload payload) {
+        var username = SecurityUtils.getCurrentUsername();
+        if (payload.items() == null) {
+            throw new BadRequestException("Items are required");
+        }
+        List<FeatureBatchItem> items = new ArrayList<>(payload.items().size());
+        for (FeatureBatchPayload.Item item : payload.items()) {
+            items.add(toBatchItem(item, username));
+        }
+        List<FeatureBatchResult> results = featureBatchService.processBatch(items, username);
+        log.info("Processed feature batch of {} items", results.size());
+        return results;
+    }
+
+    private static FeatureBatchItem toBatchItem(FeatureBatchPayload.Item item, String username) {
+        if (item.operation() == null) {
+            throw new BadRequestException("Operation is required for every batch item");
+        }
+        return switch (item.operation()) {
+            case CREATE ->
+                new CreateFeatureCommand(
+                        item.productCode(),
+                        item.releaseCode(),
+                        item.title(),
+                        item.description(),
+                        item.assignedTo(),
+                        username);
+            case UPDATE ->
+                new UpdateFeatureCommand(
+                        item.code(),
+                        item.title(),
+                        item.description(),
+                        item.status(),
+                        item.releaseCode(),
+                        item.assignedTo(),
+                        username);
+            case DELETE -> new DeleteFeatureCommand(item.code(), username);
+        };
+    }
+
     @PutMapping("/{code}")
     @Operation(
             summary = "Update an existing feature",
@@ -164,8 +432,12 @@ class FeatureController {
                 @ApiResponse(responseCode = "400", description = "Invalid request"),
                 @ApiResponse(responseCode = "401", description = "Unauthorized"),
                 @ApiResponse(responseCode = "403", description = "Forbidden"),
+                @ApiResponse(responseCode = "412", description = "Modified since the ETag given in If-Match was read"),
             })
-    void updateFeature(@PathVariable String code, @RequestBody UpdateFeaturePayload payload) {
+    void updateFeature(
+            @PathVariable String code,
+            @RequestBody UpdateFeaturePayload payload,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         var username = SecurityUtils.getCurrentUsername();
         var cmd = new UpdateFeatureCommand(
                 code,
@@ -175,7 +447,25 @@ class FeatureController {
                 payload.releaseCode(),
                 payload.assignedTo(),
                 username);
-        featureService.updateFeature(cmd);
+        featureService.updateFeature(cmd, ifMatch == null ? null : versionOf(ifMatch));
+    }
+
+    /**
+     * Returns the feature version of an ETag of {@link #getFeature}, null for "*".
+     * The favorite suffix is ignored, a feature is only modified if its version changed.
+     */
+    private static Long versionOf(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        tag = StringUtils.removeStart(tag, "W/");
+        tag = StringUtils.removeEnd(StringUtils.strip(tag, "\""), "-f");
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match must be an ETag returned for the feature");
+        }
     }
 
     @DeleteMapping("/{code}")
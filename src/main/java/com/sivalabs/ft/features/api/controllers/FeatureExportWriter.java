@@ -0,0 +1,132 @@
+package com.sivalabs.ft.features.api.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.MediaType;
+
+/**
+ * Writes exported features page by page and flushes after every page, so that the response
+ * is streamed to the client and only one page is held in memory.
+ */
+abstract class FeatureExportWriter implements AutoCloseable {
+    protected final Writer writer;
+
+    private FeatureExportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        MediaType mediaType() {
+            return mediaType;
+        }
+
+        String fileExtension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        static Format of(String format) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported export format: " + format);
+            }
+        }
+    }
+
+    static FeatureExportWriter open(Format format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonWriter(out, objectMapper);
+            case CSV -> new CsvWriter(out);
+        };
+    }
+
+    void write(List<FeatureDto> features) throws IOException {
+        for (FeatureDto feature : features) {
+            writeRow(feature);
+        }
+        writer.flush();
+    }
+
+    protected abstract void writeRow(FeatureDto feature) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static final class NdjsonWriter extends FeatureExportWriter {
+        private final ObjectMapper objectMapper;
+
+        NdjsonWriter(OutputStream out, ObjectMapper objectMapper) {
+            super(out);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        protected void writeRow(FeatureDto feature) throws IOException {
+            writer.write(objectMapper.writeValueAsString(feature));
+            writer.write('\n');
+        }
+    }
+
+    private static final class CsvWriter extends FeatureExportWriter {
+        private static final String HEADER = "id,code,title,description,status,releaseCode,isFavorite,"
+                + "assignedTo,createdBy,createdAt,updatedBy,updatedAt";
+
+        CsvWriter(OutputStream out) throws IOException {
+            super(out);
+            writer.write(HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        protected void writeRow(FeatureDto feature) throws IOException {
+            String row = Stream.of(
+                            feature.id(),
+                            feature.code(),
+                            feature.title(),
+                            feature.description(),
+                            feature.status(),
+                            feature.releaseCode(),
+                            feature.isFavorite(),
+                            feature.assignedTo(),
+                            feature.createdBy(),
+                            feature.createdAt(),
+                            feature.updatedBy(),
+                            feature.updatedAt())
+                    .map(value -> value == null ? "" : escape(Objects.toString(value)))
+                    .collect(Collectors.joining(","));
+            writer.write(row);
+            writer.write('\n');
+        }
+
+        private static String escape(String value) {
+            if (!StringUtils.containsAny(value, ',', '"', '\n', '\r')) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.sivalabs.ft.features.api.controllers;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.EventsProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties.AckMode;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.TopicPartitionOffset;
+import org.springframework.kafka.support.TopicPartitionOffset.SeekPosition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds {@link FeatureStreams} with the events of all partitions of the feature topics, starting at their end.
+ * <p>
+ * The partitions are looked up on a thread of its own, retried every ft.features.stream.kafka-retry-interval
+ * until Kafka answers and the topics exist, so that the application starts, and serves everything but the
+ * streams, while Kafka is unavailable. Partitions added to a topic later are only picked up after a restart.
+ * <p>
+ * The container assigns the partitions instead of joining a consumer group and commits no offsets: every
+ * replica starts at the end, so offsets would be of no use to anyone.
+ */
+@Component
+class FeatureStreamListener implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(FeatureStreamListener.class);
+    static final String LISTENER_ID = "featureStreamListener";
+
+    private final FeatureStreams streams;
+    private final ConcurrentKafkaListenerContainerFactory<?, ?> containerFactory;
+    private final ConsumerFactory<?, ?> consumerFactory;
+    private final List<String> topics;
+    private final Duration retryInterval;
+    private volatile Thread starter;
+    private volatile ConcurrentMessageListenerContainer<?, ?> container;
+
+    FeatureStreamListener(
+            FeatureStreams streams,
+            ConcurrentKafkaListenerContainerFactory<?, ?> containerFactory,
+            ConsumerFactory<?, ?> consumerFactory,
+            ApplicationProperties properties) {
+        this.streams = streams;
+        this.containerFactory = containerFactory;
+        this.consumerFactory = consumerFactory;
+        EventsProperties events = properties.events();
+        this.topics = List.of(events.newFeatures(), events.updatedFeatures(), events.deletedFeatures());
+        this.retryInterval = properties.features().stream().kafkaRetryInterval();
+    }
+
+    /**
+     * The partitions the listener currently reads, none until Kafka was reachable.
+     */
+    Collection<TopicPartition> assignedPartitions() {
+        var current = container;
+        Collection<TopicPartition> assigned = current == null ? null : current.getAssignedPartitions();
+        return assigned == null ? List.of() : assigned;
+    }
+
+    private void startContainer() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<TopicPartitionOffset> partitions;
+            try {
+                partitions = findPartitions();
+            } catch (KafkaException | IllegalStateException e) {
+                log.warn(
+                        "Feature streams can't read events yet, retrying in {}: {}", retryInterval, e.getMessage());
+                try {
+                    Thread.sleep(retryInterval);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                continue;
+            }
+            var listenerContainer = containerFactory.createContainer(partitions.toArray(TopicPartitionOffset[]::new));
+            listenerContainer.setBeanName(LISTENER_ID);
+            listenerContainer.setupMessageListener((MessageListener<Object, Object>) consumerRecord -> {
+                if (consumerRecord.value() != null) {
+                    streams.onEvent(consumerRecord.value());
+                }
+            });
+            var consumerProperties = new Properties();
+            consumerProperties.setProperty(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+            listenerContainer.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
+            // Records are never acknowledged, so the container doesn't commit either
+            listenerContainer.getContainerProperties().setAckMode(AckMode.MANUAL);
+            synchronized (this) {
+                if (starter == null) {
+                    // Stopped in the meantime
+                    return;
+                }
+                container = listenerContainer;
+                listenerContainer.start();
+            }
+            log.info("Feature streams are reading {} partitions", partitions.size());
+            return;
+        }
+    }
+
+    private List<TopicPartitionOffset> findPartitions() {
+        List<TopicPartitionOffset> partitions = new ArrayList<>();
+        try (Consumer<?, ?> consumer = consumerFactory.createConsumer()) {
+            for (String topic : topics) {
+                List<PartitionInfo> infos = consumer.partitionsFor(topic, retryInterval);
+                if (infos == null || infos.isEmpty()) {
+                    throw new IllegalStateException("Topic " + topic + " doesn't exist");
+                }
+                // Events from before this replica started can't be for any of its connections
+                infos.forEach(info ->
+                        partitions.add(new TopicPartitionOffset(topic, info.partition(), SeekPosition.END)));
+            }
+        }
+        return partitions;
+    }
+
+    @Override
+    public synchronized void start() {
+        starter = Thread.ofVirtual().name("feature-stream-listener-starter").start(this::startContainer);
+    }
+
+    @Override
+    public void stop() {
+        Thread thread;
+        ConcurrentMessageListenerContainer<?, ?> current;
+        synchronized (this) {
+            thread = starter;
+            starter = null;
+            current = container;
+            container = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+        if (current != null) {
+            current.stop();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return starter != null;
+    }
+}
@@ -0,0 +1,204 @@
+package com.sivalabs.ft.features.api.controllers;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.StreamProperties;
+import com.sivalabs.ft.features.domain.FeatureService;
+import com.sivalabs.ft.features.domain.events.FeatureCreatedEvent;
+import com.sivalabs.ft.features.domain.events.FeatureDeletedEvent;
+import com.sivalabs.ft.features.domain.events.FeatureUpdatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes the feature events of the Kafka topics to the Server-Sent Events connections open on this replica.
+ * <p>
+ * Every replica reads all partitions of the topics, see {@link FeatureStreamListener}, so that each one sees every
+ * event. It hands an event to the connections watching the product of the feature, told by the prefix of its code.
+ * Idle connections hold no thread: events go into a per-connection buffer of ft.features.stream.buffer-size
+ * and are written by a virtual thread that only runs while the buffer isn't empty. A client that falls so far
+ * behind that its buffer is full is disconnected, so it can't hold up the consumer or other clients.
+ * <p>
+ * Metrics: ft.features.streams.connections and ft.features.streams.evictions.
+ */
+@Component
+class FeatureStreams implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(FeatureStreams.class);
+    private static final Notification HEARTBEAT = new Notification(null, null, null);
+
+    private final Map<String, Set<Connection>> connectionsByPrefix = new ConcurrentHashMap<>();
+    private final StreamProperties properties;
+    private final ExecutorService writers =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("feature-stream-", 0).factory());
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Counter evictions;
+
+    FeatureStreams(ApplicationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.features().stream();
+        this.evictions = Counter.builder("ft.features.streams.evictions")
+                .description("Stream connections closed because the client couldn't keep up")
+                .register(meterRegistry);
+        Gauge.builder("ft.features.streams.connections", connectionCount, AtomicInteger::get)
+                .description("Open feature stream connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the events of the features with the given code prefix, that is of one product.
+     */
+    SseEmitter open(String prefix) {
+        var emitter = new SseEmitter(properties.timeout().toMillis());
+        var connection = new Connection(prefix, emitter);
+        connectionsByPrefix.compute(prefix, (key, connections) -> {
+            Set<Connection> set = connections == null ? ConcurrentHashMap.newKeySet() : connections;
+            set.add(connection);
+            return set;
+        });
+        connectionCount.incrementAndGet();
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(e -> connection.close());
+        // Gets the response headers out right away, so the client knows it is connected
+        connection.offer(HEARTBEAT);
+        return emitter;
+    }
+
+    void onEvent(Object event) {
+        Notification notification =
+                switch (event) {
+                    case FeatureCreatedEvent created -> new Notification("created", created.code(), created);
+                    case FeatureUpdatedEvent updated -> new Notification("updated", updated.code(), updated);
+                    case FeatureDeletedEvent deleted -> new Notification("deleted", deleted.code(), deleted);
+                    default -> null;
+                };
+        if (notification == null) {
+            return;
+        }
+        Set<Connection> connections = connectionsByPrefix.get(notification.prefix());
+        if (connections != null) {
+            connections.forEach(connection -> connection.offer(notification));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ft.features.stream.heartbeat-interval:30s}")
+    void sendHeartbeats() {
+        connectionsByPrefix.values().forEach(connections -> connections.forEach(c -> c.offer(HEARTBEAT)));
+    }
+
+    @Override
+    public void close() {
+        connectionsByPrefix.values().forEach(connections -> connections.forEach(c -> c.emitter.complete()));
+        writers.shutdownNow();
+    }
+
+    /**
+     * @param name the SSE event name, null for a heartbeat comment
+     */
+    private record Notification(String name, String code, Object event) {
+        String prefix() {
+            int separator = code.lastIndexOf(FeatureService.FEATURE_SEPARATOR);
+            return separator < 0 ? code : code.substring(0, separator);
+        }
+
+        SseEmitter.SseEventBuilder toSseEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("");
+            }
+            return SseEmitter.event().name(name).data(event, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Connection {
+        final String prefix;
+        final SseEmitter emitter;
+        final BlockingQueue<Notification> buffer;
+        final AtomicBoolean writing = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Connection(String prefix, SseEmitter emitter) {
+            this.prefix = prefix;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(properties.bufferSize());
+        }
+
+        void offer(Notification notification) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(notification)) {
+                evict();
+                return;
+            }
+            if (writing.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this::write);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    close();
+                }
+            }
+        }
+
+        private void write() {
+            try {
+                do {
+                    Notification notification;
+                    while ((notification = buffer.poll()) != null) {
+                        emitter.send(notification.toSseEvent());
+                    }
+                    writing.set(false);
+                    // Picks up what was offered after the last poll but before the flag was reset
+                } while (!buffer.isEmpty() && writing.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                // The client went away, or the emitter completed
+                log.debug("Feature stream for {} closed: {}", prefix, e.getMessage());
+                close();
+            }
+        }
+
+        private void evict() {
+            if (close()) {
+                evictions.increment();
+                log.info(
+                        "Closing feature stream for {}, the client fell {} events behind",
+                        prefix,
+                        properties.bufferSize());
+                // A writer blocked on the client holds the emitter, so don't complete it on the caller's thread
+                Thread.ofVirtual().start(emitter::complete);
+            }
+        }
+
+        /**
+         * Returns true if this call closed the connection.
+         */
+        boolean close() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            connectionsByPrefix.computeIfPresent(prefix, (key, connections) -> {
+                connections.remove(this);
+                return connections.isEmpty() ? null : connections;
+            });
+            connectionCount.decrementAndGet();
+            buffer.clear();
+            return true;
+        }
+    }
+}
@@ -5,7 +5,9 @@ import com.sivalabs.ft.features.api.models.UpdateProductPayload;
 import com.sivalabs.ft.features.api.utils.SecurityUtils;
 import com.sivalabs.ft.features.domain.Commands.CreateProductCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateProductCommand;
+import com.sivalabs.ft.features.domain.FeatureStatsService;
 import com.sivalabs.ft.features.domain.ProductService;
+import com.sivalabs.ft.features.domain.dtos.FeatureStatsDto;
 import com.sivalabs.ft.features.domain.dtos.ProductDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
@@ -27,6 +29,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
@@ -35,9 +38,11 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 class ProductController {
     private static final Logger log = LoggerFactory.getLogger(ProductController.class);
     private final ProductService productService;
+    private final FeatureStatsService featureStatsService;
 
-    ProductController(ProductService productService) {
+    ProductController(ProductService productService, FeatureStatsService featureStatsService) {
         this.productService = productService;
+        this.featureStatsService = featureStatsService;
     }
 
     @GetMapping("")
@@ -51,10 +56,15 @@ class ProductController {
                         content =
                                 @Content(
                                         mediaType = "application/json",
-                                        array = @ArraySchema(schema = @Schema(implementation = ProductDto.class))))
+                                        array = @ArraySchema(schema = @Schema(implementation = ProductDto.class)))),
+                @ApiResponse(responseCode = "304", description = "Not modified since the ETag given in If-None-Match")
             })
-    List<ProductDto> getProducts() {
-        return productService.findAllProducts();
+    ResponseEntity<List<ProductDto>> getProducts(WebRequest request) {
+        // checkNotModified() also sets the ETag header on the response
+        if (request.checkNotModified(productService.getProductsVersionTag())) {
+            return null;
+        }
+        return ResponseEntity.ok(productService.findAllProducts());
     }
 
     @GetMapping("/{code}")
@@ -69,11 +79,35 @@ class ProductController {
                                 @Content(
                                         mediaType = "application/json",
                                         schema = @Schema(implementation = ProductDto.class))),
+                @ApiResponse(responseCode = "304", description = "Not modified since the ETag given in If-None-Match"),
                 @ApiResponse(responseCode = "404", description = "Product not found")
             })
     ResponseEntity<ProductDto> getProduct(@PathVariable String code) {
         return productService
                 .findProductByCode(code)
+                .map(product -> ResponseEntity.ok()
+                        .eTag(String.valueOf(product.version()))
+                        .body(product))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{code}/stats")
+    @Operation(
+            summary = "Get feature counts of a product by status",
+            description = "Number of features of the product in each status, read from pre-aggregated counters",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = FeatureStatsDto.class))),
+                @ApiResponse(responseCode = "404", description = "Product not found")
+            })
+    ResponseEntity<FeatureStatsDto> getProductStats(@PathVariable String code) {
+        return featureStatsService
+                .getFeatureStatsByProduct(code)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -5,7 +5,11 @@ import com.sivalabs.ft.features.api.models.UpdateReleasePayload;
 import com.sivalabs.ft.features.api.utils.SecurityUtils;
 import com.sivalabs.ft.features.domain.Commands.CreateReleaseCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateReleaseCommand;
+import com.sivalabs.ft.features.domain.FeatureStatsService;
+import com.sivalabs.ft.features.domain.ReleaseDeletionService;
 import com.sivalabs.ft.features.domain.ReleaseService;
+import com.sivalabs.ft.features.domain.dtos.FeatureStatsDto;
+import com.sivalabs.ft.features.domain.dtos.ReleaseDeletionJobDto;
 import com.sivalabs.ft.features.domain.dtos.ReleaseDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
@@ -17,6 +21,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -29,6 +34,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
@@ -37,9 +43,16 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 class ReleaseController {
     private static final Logger log = LoggerFactory.getLogger(ReleaseController.class);
     private final ReleaseService releaseService;
+    private final FeatureStatsService featureStatsService;
+    private final ReleaseDeletionService releaseDeletionService;
 
-    ReleaseController(ReleaseService releaseService) {
+    ReleaseController(
+            ReleaseService releaseService,
+            FeatureStatsService featureStatsService,
+            ReleaseDeletionService releaseDeletionService) {
         this.releaseService = releaseService;
+        this.featureStatsService = featureStatsService;
+        this.releaseDeletionService = releaseDeletionService;
     }
 
     @GetMapping("")
@@ -53,10 +66,16 @@ class ReleaseController {
                         content =
                                 @Content(
                                         mediaType = "application/json",
-                                        array = @ArraySchema(schema = @Schema(implementation = ReleaseDto.class))))
+                                        array = @ArraySchema(schema = @Schema(implementation = ReleaseDto.class)))),
+                @ApiResponse(responseCode = "304", description = "Not modified since the ETag given in If-None-Match")
             })
-    List<ReleaseDto> getProductReleases(@RequestParam("productCode") String productCode) {
-        return releaseService.findReleasesByProductCode(productCode);
+    ResponseEntity<List<ReleaseDto>> getProductReleases(
+            @RequestParam("productCode") String productCode, WebRequest request) {
+        // checkNotModified() also sets the ETag header on the response
+        if (request.checkNotModified(releaseService.getReleasesVersionTagByProductCode(productCode))) {
+            return null;
+        }
+        return ResponseEntity.ok(releaseService.findReleasesByProductCode(productCode));
     }
 
     @GetMapping("/{code}")
@@ -71,11 +90,35 @@ class ReleaseController {
                                 @Content(
                                         mediaType = "application/json",
                                         schema = @Schema(implementation = ReleaseDto.class))),
+                @ApiResponse(responseCode = "304", description = "Not modified since the ETag given in If-None-Match"),
                 @ApiResponse(responseCode = "404", description = "Release not found")
             })
     ResponseEntity<ReleaseDto> getRelease(@PathVariable String code) {
         return releaseService
                 .findReleaseByCode(code)
+                .map(release -> ResponseEntity.ok()
+                        .eTag(String.valueOf(release.version()))
+                        .body(release))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{code}/stats")
+    @Operation(
+            summary = "Get feature counts of a release by status",
+            description = "Number of features of the release in each status, read from pre-aggregated counters",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = FeatureStatsDto.class))),
+                @ApiResponse(responseCode = "404", description = "Release not found")
+            })
+    ResponseEntity<FeatureStatsDto> getReleaseStats(@PathVariable String code) {
+        return featureStatsService
+                .getFeatureStatsByRelease(code)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -129,18 +172,62 @@ class ReleaseController {
     @DeleteMapping("/{code}")
     @Operation(
             summary = "Delete an existing release",
-            description = "Delete an existing release",
+            description =
+                    """
+                    Delete an existing release. Its features are kept without a release.
+                    Releases with many features are deleted in the background: the response is then
+                    202 Accepted with the deletion job, whose progress can be followed at the Location URI.
+                    """,
             responses = {
-                @ApiResponse(responseCode = "200", description = "Successful response"),
+                @ApiResponse(responseCode = "200", description = "Release deleted"),
+                @ApiResponse(
+                        responseCode = "202",
+                        description = "Deletion job started",
+                        headers = @Header(name = "Location", required = true, description = "URI of the deletion job"),
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ReleaseDeletionJobDto.class))),
                 @ApiResponse(responseCode = "400", description = "Invalid request"),
                 @ApiResponse(responseCode = "401", description = "Unauthorized"),
                 @ApiResponse(responseCode = "403", description = "Forbidden"),
+                @ApiResponse(responseCode = "404", description = "Release not found"),
             })
-    ResponseEntity<Void> deleteRelease(@PathVariable String code) {
+    ResponseEntity<ReleaseDeletionJobDto> deleteRelease(@PathVariable String code) {
         if (!releaseService.isReleaseExists(code)) {
             return ResponseEntity.notFound().build();
         }
-        releaseService.deleteRelease(code);
-        return ResponseEntity.ok().build();
+        var username = SecurityUtils.getCurrentUsername();
+        Optional<ReleaseDeletionJobDto> job = releaseDeletionService.deleteRelease(code, username);
+        if (job.isEmpty()) {
+            return ResponseEntity.ok().build();
+        }
+        log.info("Started deletion job {} for release {}", job.get().id(), code);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/releases/deletion-jobs/{id}")
+                .buildAndExpand(job.get().id())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job.get());
+    }
+
+    @GetMapping("/deletion-jobs/{id}")
+    @Operation(
+            summary = "Find release deletion job",
+            description = "Status and progress of a background release deletion",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successful response",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ReleaseDeletionJobDto.class))),
+                @ApiResponse(responseCode = "404", description = "Deletion job not found")
+            })
+    ResponseEntity<ReleaseDeletionJobDto> getDeletionJob(@PathVariable Long id) {
+        return releaseDeletionService
+                .findJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 }
@@ -0,0 +1,27 @@
+package com.sivalabs.ft.features.api.models;
+
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.util.List;
+
+public record FeatureBatchPayload(List<Item> items) {
+
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    /**
+     * One batch item. CREATE uses productCode, releaseCode, title, description and assignedTo;
+     * UPDATE uses code, title, description, releaseCode, assignedTo and status; DELETE uses code only.
+     */
+    public record Item(
+            Operation operation,
+            String code,
+            String productCode,
+            String releaseCode,
+            String title,
+            String description,
+            String assignedTo,
+            FeatureStatus status) {}
+}
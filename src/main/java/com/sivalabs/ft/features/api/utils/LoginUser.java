@@ -0,0 +1,40 @@
+package com.sivalabs.ft.features.api.utils;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * The authenticated user as described by the claims of a Keycloak access token.
+ */
+public record LoginUser(
+        String username,
+        String email,
+        String name,
+        String token,
+        Collection<? extends GrantedAuthority> authorities,
+        List<String> roles)
+        implements Serializable {
+
+    public static LoginUser of(Jwt jwt, Collection<? extends GrantedAuthority> authorities) {
+        return new LoginUser(
+                jwt.getClaimAsString("preferred_username"),
+                jwt.getClaimAsString("email"),
+                jwt.getClaimAsString("name"),
+                jwt.getTokenValue(),
+                authorities,
+                getRoles(jwt));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> getRoles(Jwt jwt) {
+        if (jwt.getClaims().get("realm_access") instanceof Map<?, ?> realmAccess
+                && realmAccess.get("roles") instanceof List<?> roles) {
+            return List.copyOf((List<String>) roles);
+        }
+        return List.of();
+    }
+}
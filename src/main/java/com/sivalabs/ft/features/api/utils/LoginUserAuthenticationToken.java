@@ -0,0 +1,22 @@
+package com.sivalabs.ft.features.api.utils;
+
+import java.util.Collection;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * A {@link JwtAuthenticationToken} that builds its {@link LoginUser} once, when the request is authenticated.
+ */
+public class LoginUserAuthenticationToken extends JwtAuthenticationToken {
+    private final LoginUser loginUser;
+
+    public LoginUserAuthenticationToken(Jwt jwt, Collection<? extends GrantedAuthority> authorities) {
+        super(jwt, authorities);
+        this.loginUser = LoginUser.of(jwt, getAuthorities());
+    }
+
+    public LoginUser getLoginUser() {
+        return loginUser;
+    }
+}
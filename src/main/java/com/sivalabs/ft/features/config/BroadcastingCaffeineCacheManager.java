@@ -0,0 +1,72 @@
+package com.sivalabs.ft.features.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+/**
+ * {@link CaffeineCacheManager} whose caches broadcast every eviction to the other replicas.
+ * Invalidations received from other replicas are applied with {@link #evictLocally} so they are not echoed back.
+ */
+class BroadcastingCaffeineCacheManager extends CaffeineCacheManager {
+    private final CacheInvalidationPublisher publisher;
+
+    BroadcastingCaffeineCacheManager(CacheInvalidationPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        return new BroadcastingCaffeineCache(name, cache, isAllowNullValues());
+    }
+
+    void evictLocally(String cacheName, String key) {
+        if (getCache(cacheName) instanceof CaffeineCache cache) {
+            if (key == null) {
+                cache.getNativeCache().invalidateAll();
+            } else {
+                cache.getNativeCache().invalidate(key);
+            }
+        }
+    }
+
+    private class BroadcastingCaffeineCache extends CaffeineCache {
+
+        BroadcastingCaffeineCache(
+                String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache, boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        @Override
+        public void evict(Object key) {
+            super.evict(key);
+            broadcast(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean present = super.evictIfPresent(key);
+            // Other replicas may hold the entry even if this one doesn't
+            broadcast(key);
+            return present;
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            publisher.publish(getName(), null);
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean notEmpty = super.invalidate();
+            publisher.publish(getName(), null);
+            return notEmpty;
+        }
+
+        private void broadcast(Object key) {
+            // Only string keys can be matched on the other side; clear the cache for anything else
+            publisher.publish(getName(), key instanceof String stringKey ? stringKey : null);
+        }
+    }
+}
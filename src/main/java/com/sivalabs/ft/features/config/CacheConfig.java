@@ -0,0 +1,41 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.util.StringUtils;
+
+/**
+ * Replaces the auto-configured Caffeine cache manager with one that broadcasts evictions over Kafka,
+ * so that local caches stay consistent across replicas. The spring.cache.* properties still apply.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+class CacheConfig {
+
+    @Bean
+    BroadcastingCaffeineCacheManager cacheManager(
+            CacheProperties cacheProperties, CacheInvalidationPublisher publisher) {
+        var cacheManager = new BroadcastingCaffeineCacheManager(publisher);
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            cacheManager.setCacheSpecification(spec);
+        }
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    NewTopic cacheInvalidationTopic(ApplicationProperties properties) {
+        // A single partition keeps invalidations in publish order
+        return TopicBuilder.name(properties.cache().invalidationTopic())
+                .partitions(1)
+                .build();
+    }
+}
@@ -0,0 +1,8 @@
+package com.sivalabs.ft.features.config;
+
+/**
+ * Cache invalidation broadcast to all replicas. A {@code null} key clears the whole cache.
+ *
+ * @param origin id of the replica that evicted the entry, so it can ignore its own messages
+ */
+public record CacheInvalidation(String origin, String cacheName, String key) {}
@@ -0,0 +1,50 @@
+package com.sivalabs.ft.features.config;
+
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies cache invalidations published by other replicas. Every replica assigns itself the topic's
+ * single partition (see {@link CacheConfig}) instead of joining a consumer group, so that each one sees
+ * every message and no group is left behind per replica. All replicas share one group id, which only
+ * stores offsets that are never read back: a replica starts at the end of the partition, since
+ * invalidations from before it started can't concern its empty caches.
+ */
+@Component
+class CacheInvalidationListener implements ConsumerSeekAware {
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
+    private final BroadcastingCaffeineCacheManager cacheManager;
+    private final CacheInvalidationPublisher publisher;
+
+    CacheInvalidationListener(BroadcastingCaffeineCacheManager cacheManager, CacheInvalidationPublisher publisher) {
+        this.cacheManager = cacheManager;
+        this.publisher = publisher;
+    }
+
+    static final String LISTENER_ID = "cacheInvalidationListener";
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            idIsGroup = false,
+            topicPartitions = @TopicPartition(topic = "${ft.cache.invalidation-topic}", partitions = "0"),
+            groupId = "${spring.application.name}-cache",
+            properties = "auto.offset.reset=latest")
+    void onInvalidation(CacheInvalidation invalidation) {
+        if (publisher.instanceId().equals(invalidation.origin())) {
+            return;
+        }
+        log.debug("Applying {}", invalidation);
+        cacheManager.evictLocally(invalidation.cacheName(), invalidation.key());
+    }
+
+    @Override
+    public void onPartitionsAssigned(
+            Map<org.apache.kafka.common.TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToEnd(assignments.keySet());
+    }
+}
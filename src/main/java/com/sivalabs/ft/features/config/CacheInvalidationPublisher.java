@@ -0,0 +1,29 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.domain.events.EventSendQueue;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+@Component
+class CacheInvalidationPublisher {
+    private final String instanceId = UUID.randomUUID().toString();
+    private final EventSendQueue eventSendQueue;
+    private final ApplicationProperties properties;
+
+    CacheInvalidationPublisher(EventSendQueue eventSendQueue, ApplicationProperties properties) {
+        this.eventSendQueue = eventSendQueue;
+        this.properties = properties;
+    }
+
+    String instanceId() {
+        return instanceId;
+    }
+
+    void publish(String cacheName, String key) {
+        var invalidation = new CacheInvalidation(instanceId, cacheName, key);
+        // Evictions happen on request threads, which must not wait for Kafka.
+        // A lost message is bounded by the cache TTL.
+        eventSendQueue.send(properties.cache().invalidationTopic(), cacheName, invalidation);
+    }
+}
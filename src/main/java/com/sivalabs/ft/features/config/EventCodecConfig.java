@@ -0,0 +1,32 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.domain.events.AvroEventCodec;
+import com.sivalabs.ft.features.domain.events.EventSerializer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Writes Kafka values with {@link EventSerializer}, in the format configured per topic with ft.events.formats.
+ * The JSON delegate is still configured from spring.kafka.producer.properties.*.
+ */
+@Configuration
+class EventCodecConfig {
+
+    @Bean
+    AvroEventCodec avroEventCodec() {
+        return AvroEventCodec.fromRegistry();
+    }
+
+    @Bean
+    @SuppressWarnings("unchecked")
+    DefaultKafkaProducerFactoryCustomizer eventSerializerCustomizer(
+            ApplicationProperties properties, AvroEventCodec avroEventCodec) {
+        return producerFactory -> ((DefaultKafkaProducerFactory<Object, Object>) producerFactory)
+                .setValueSerializer(new EventSerializer(
+                        properties.events().formats(), avroEventCodec, new JsonSerializer<>()));
+    }
+}
@@ -0,0 +1,30 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * Creates the feature event topics on startup, if they don't exist yet, with the broker's default partition
+ * count and replication factor, so that consumers don't depend on the producer auto-creating them.
+ */
+@Configuration
+class EventTopicsConfig {
+
+    @Bean
+    NewTopic newFeaturesTopic(ApplicationProperties properties) {
+        return TopicBuilder.name(properties.events().newFeatures()).build();
+    }
+
+    @Bean
+    NewTopic updatedFeaturesTopic(ApplicationProperties properties) {
+        return TopicBuilder.name(properties.events().updatedFeatures()).build();
+    }
+
+    @Bean
+    NewTopic deletedFeaturesTopic(ApplicationProperties properties) {
+        return TopicBuilder.name(properties.events().deletedFeatures()).build();
+    }
+}
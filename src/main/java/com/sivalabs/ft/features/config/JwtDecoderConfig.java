@@ -0,0 +1,77 @@
+package com.sivalabs.ft.features.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.sivalabs.ft.features.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.net.MalformedURLException;
+import java.net.URI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * Replaces the auto-configured JWT decoder, which discovers the issuer and downloads its keys
+ * on the first authenticated request, with one that
+ * <ul>
+ *     <li>reads the keys from spring.security.oauth2.resourceserver.jwt.jwk-set-uri, fetched before the
+ *     application reports ready and refreshed ahead of expiry in the background</li>
+ *     <li>caches validated tokens until they expire ({@link CachingJwtDecoder})</li>
+ * </ul>
+ */
+@Configuration
+class JwtDecoderConfig {
+    private static final Logger log = LoggerFactory.getLogger(JwtDecoderConfig.class);
+
+    private final OAuth2ResourceServerProperties.Jwt properties;
+    private final JWKSource<SecurityContext> jwkSource;
+
+    JwtDecoderConfig(OAuth2ResourceServerProperties resourceServerProperties) throws MalformedURLException {
+        this.properties = resourceServerProperties.getJwt();
+        this.jwkSource = JWKSourceBuilder.<SecurityContext>create(
+                        URI.create(properties.getJwkSetUri()).toURL())
+                .refreshAheadCache(true)
+                .build();
+    }
+
+    @Bean
+    JwtDecoder jwtDecoder(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        var jwtProcessor = new DefaultJWTProcessor<SecurityContext>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // Claims are validated by the decoder's validator below
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {});
+        var nimbusJwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+        nimbusJwtDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(properties.getIssuerUri()));
+
+        var jwtDecoder = new CachingJwtDecoder(
+                nimbusJwtDecoder, applicationProperties.security().tokenCacheSize());
+        CaffeineCacheMetrics.monitor(meterRegistry, jwtDecoder.getValidatedTokens(), "validated-jwts");
+        return jwtDecoder;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void prefetchJwks() {
+        try {
+            var keys = jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+            log.info("Prefetched {} signing keys from {}", keys.size(), properties.getJwkSetUri());
+        } catch (KeySourceException e) {
+            // Not fatal: the keys are fetched again on the first authenticated request
+            log.warn("Failed to prefetch signing keys from {}", properties.getJwkSetUri(), e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.sivalabs.ft.features.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Domain metrics on top of the auto-configured http.server.requests and spring.data.repository.invocations timers:
+ * <ul>
+ *     <li>ft.service: every public method of the {@code @Timed} services, tagged by class and method</li>
+ *     <li>ft.events.publish: outbox writes of {@code EventPublisher}</li>
+ *     <li>ft.repository.result.size: number of rows returned by repository queries</li>
+ * </ul>
+ * Percentiles are configured with management.metrics.distribution.percentiles.*.
+ */
+@Configuration
+class MetricsConfig {
+
+    @Bean
+    TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    RepositoryResultSizeAspect repositoryResultSizeAspect(MeterRegistry registry) {
+        return new RepositoryResultSizeAspect(registry);
+    }
+}
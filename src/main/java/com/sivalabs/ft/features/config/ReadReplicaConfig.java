@@ -0,0 +1,67 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Routes read-only transactions to the replicas configured with ft.db.replicas.* and everything else
+ * to spring.datasource.
+ * <p>
+ * The primary pool and the replica pools are beans of their own, so that they are closed on shutdown, and the
+ * routing data source is the {@code @Primary} one. It is a {@link LazyConnectionDataSourceProxy}: the physical
+ * connection is only fetched on the first statement, when the transaction has already marked it read-only, and
+ * read-only connections come from {@link ReplicaRoutingDataSource}. Reads that join a read-write transaction
+ * stay on the primary.
+ */
+@Configuration
+@ConditionalOnBooleanProperty("ft.db.replicas.enabled")
+class ReadReplicaConfig {
+
+    /**
+     * The pool Boot would have created, which backs off once this configuration defines data sources.
+     * spring.datasource.hikari.* still applies.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(
+            DataSourceProperties properties, ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        DataSourceBuilder<HikariDataSource> builder =
+                properties.initializeDataSourceBuilder().type(HikariDataSource.class);
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        if (details != null) {
+            builder.url(details.getJdbcUrl())
+                    .username(details.getUsername())
+                    .password(details.getPassword())
+                    .driverClassName(details.getDriverClassName());
+        }
+        return builder.build();
+    }
+
+    @Bean(destroyMethod = "close")
+    ReadReplicas readReplicas(ApplicationProperties properties, MeterRegistry meterRegistry) {
+        return new ReadReplicas(properties.db().replicas(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(
+            HikariDataSource primaryDataSource, ReadReplicas readReplicas, ApplicationProperties properties) {
+        boolean readYourWrites = properties.db().replicas().readYourWrites();
+        DataSource writes = readYourWrites ? new WriteLsnTrackingDataSource(primaryDataSource) : primaryDataSource;
+        var dataSource = new LazyConnectionDataSourceProxy(writes);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primaryDataSource, readReplicas, readYourWrites));
+        return dataSource;
+    }
+}
@@ -0,0 +1,173 @@
+package com.sivalabs.ft.features.config;
+
+import com.sivalabs.ft.features.ApplicationProperties.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Connection pools of the replicas configured with ft.db.replicas.urls.
+ * <p>
+ * Connections are handed out round-robin across the replicas that are in rotation. A replica leaves
+ * the rotation when a connection to it can't be opened or its replay lag exceeds ft.db.replicas.max-lag,
+ * and rejoins on the next successful health check. When no replica can serve a read,
+ * {@link #getConnection(long)} returns null and the caller falls back to the primary.
+ */
+class ReadReplicas implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicas.class);
+    // Replay lag is 0 when everything received has been replayed, so an idle primary doesn't look like lag
+    private static final String HEALTH_CHECK_QUERY =
+            """
+            select pg_last_wal_replay_lsn()::text,
+                   case when not pg_is_in_recovery() or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                        else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+                   end
+            """;
+    private static final String REPLAY_LSN_QUERY = "select pg_last_wal_replay_lsn()::text";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryFallbacks;
+
+    ReadReplicas(ReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.maxLag = properties.maxLag();
+        for (int i = 0; i < properties.urls().size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(properties.urls().get(i));
+            dataSource.setUsername(properties.username());
+            dataSource.setPassword(properties.password());
+            dataSource.setMaximumPoolSize(properties.maxPoolSize());
+            dataSource.setReadOnly(true);
+            replicas.add(new Replica(dataSource));
+        }
+        this.primaryFallbacks = Counter.builder("ft.db.replicas.fallbacks")
+                .description("Read-only transactions served by the primary because no replica could serve them")
+                .register(meterRegistry);
+        Gauge.builder("ft.db.replicas.available", this, ReadReplicas::getAvailableReplicas)
+                .description("Replicas in rotation for read-only transactions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A connection to the next replica in rotation that has replayed at least up to {@code minLsn},
+     * or null if there is none.
+     */
+    Connection getConnection(long minLsn) {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                Connection connection = replica.getConnection(minLsn);
+                if (connection != null) {
+                    return connection;
+                }
+            }
+        }
+        primaryFallbacks.increment();
+        return null;
+    }
+
+    int getAvailableReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.available).count();
+    }
+
+    @Scheduled(fixedDelayString = "${ft.db.replicas.health-check-interval:5s}")
+    void checkHealth() {
+        replicas.forEach(this::checkHealth);
+    }
+
+    private void checkHealth(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(HEALTH_CHECK_QUERY)) {
+            rs.next();
+            String replayLsn = rs.getString(1);
+            replica.replayLsn = replayLsn == null ? 0 : ReplicationLsn.parse(replayLsn);
+            Duration lag = Duration.ofMillis((long) (rs.getDouble(2) * 1000));
+            if (lag.compareTo(maxLag) > 0) {
+                replica.remove("replay lag " + lag);
+            } else {
+                replica.restore();
+            }
+        } catch (SQLException | RuntimeException e) {
+            replica.remove(e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static final class Replica {
+        final HikariDataSource dataSource;
+        // In rotation until proven otherwise, so that reads go to the replicas right after startup
+        volatile boolean available = true;
+        // Highest WAL position known to be replayed, refreshed by health checks and read-your-writes reads
+        volatile long replayLsn;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        Connection getConnection(long minLsn) {
+            Connection connection;
+            try {
+                connection = dataSource.getConnection();
+            } catch (SQLException e) {
+                remove(e.getMessage());
+                return null;
+            }
+            if (minLsn <= replayLsn) {
+                return connection;
+            }
+            try {
+                replayLsn = ReplicationLsn.query(connection, REPLAY_LSN_QUERY);
+                if (minLsn <= replayLsn) {
+                    return connection;
+                }
+            } catch (SQLException | RuntimeException e) {
+                remove(e.getMessage());
+            }
+            closeQuietly(connection);
+            return null;
+        }
+
+        void remove(String reason) {
+            if (available) {
+                available = false;
+                log.warn("Replica {} removed from rotation: {}", dataSource.getPoolName(), reason);
+            }
+        }
+
+        void restore() {
+            if (!available) {
+                available = true;
+                log.info("Replica {} back in rotation", dataSource.getPoolName());
+            }
+        }
+
+        private static void closeQuietly(Connection connection) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Failed to close replica connection", e);
+            }
+        }
+    }
+}
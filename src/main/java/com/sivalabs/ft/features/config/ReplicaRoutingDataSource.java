@@ -0,0 +1,36 @@
+package com.sivalabs.ft.features.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Target for read-only connections: a replica if one can serve the read, otherwise the primary.
+ * With read-your-writes a replica only serves requests whose {@link ReplicationLsn} it has replayed.
+ */
+class ReplicaRoutingDataSource extends AbstractDataSource {
+    private final DataSource primary;
+    private final ReadReplicas replicas;
+    private final boolean readYourWrites;
+
+    ReplicaRoutingDataSource(DataSource primary, ReadReplicas replicas, boolean readYourWrites) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = replicas.getConnection(readYourWrites ? ReplicationLsn.requested() : 0);
+        return connection != null ? connection : primary.getConnection();
+    }
+
+    /**
+     * Replicas only have the configured credentials, so connections for other users come from the primary.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
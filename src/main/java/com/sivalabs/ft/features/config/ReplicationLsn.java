@@ -0,0 +1,83 @@
+package com.sivalabs.ft.features.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Read-your-writes token: a Postgres WAL position (LSN) such as {@code 16/B374D848}.
+ * <p>
+ * Responses of requests that committed a write carry the primary's WAL position in the
+ * {@value #HEADER} header. A client that sends it back on a later request is only served
+ * by replicas that have replayed at least up to that position, otherwise by the primary.
+ */
+final class ReplicationLsn {
+    static final String HEADER = "X-Replication-LSN";
+
+    private ReplicationLsn() {}
+
+    /**
+     * The WAL position sent by the client of the current request, 0 if there is none or it isn't a valid LSN.
+     */
+    static long requested() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return 0;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String lsn = request.getHeader(HEADER);
+        if (lsn == null) {
+            return 0;
+        }
+        try {
+            return parse(lsn);
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * The response of the current request, if the current thread serves one.
+     */
+    static HttpServletResponse currentResponse() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getResponse();
+        }
+        return null;
+    }
+
+    /**
+     * Runs a query returning a single {@code pg_lsn} column, 0 if the result is null.
+     */
+    static long query(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            String lsn = rs.getString(1);
+            return lsn == null ? 0 : parse(lsn);
+        }
+    }
+
+    static long parse(String lsn) {
+        int slash = lsn.indexOf('/');
+        if (slash <= 0 || slash == lsn.length() - 1) {
+            throw new IllegalArgumentException("Invalid LSN: " + lsn);
+        }
+        try {
+            long high = Long.parseLong(lsn, 0, slash, 16);
+            long low = Long.parseLong(lsn, slash + 1, lsn.length(), 16);
+            return (high << 32) | low;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid LSN: " + lsn, e);
+        }
+    }
+
+    static String format(long lsn) {
+        return Long.toHexString(lsn >>> 32).toUpperCase() + "/"
+                + Long.toHexString(lsn & 0xFFFFFFFFL).toUpperCase();
+    }
+}
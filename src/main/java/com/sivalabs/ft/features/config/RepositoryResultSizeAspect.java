@@ -0,0 +1,48 @@
+package com.sivalabs.ft.features.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+
+/**
+ * Records how many rows each repository query returned, tagged by repository and method,
+ * so that queries whose result sets grow with the data show up next to their latency.
+ * A distribution summary rather than a gauge, so that the sizes of all calls are kept, not just the last one.
+ */
+@Aspect
+class RepositoryResultSizeAspect {
+    static final String METRIC_NAME = "ft.repository.result.size";
+
+    private final MeterRegistry registry;
+
+    RepositoryResultSizeAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @AfterReturning(
+            pointcut = "execution(* org.springframework.data.repository.Repository+.*(..))",
+            returning = "result")
+    void recordResultSize(JoinPoint joinPoint, Object result) {
+        if (!(result instanceof Collection<?> rows)) {
+            return;
+        }
+        DistributionSummary.builder(METRIC_NAME)
+                .description("Rows returned by repository queries")
+                .baseUnit("rows")
+                .tag("repository", repositoryName(joinPoint.getTarget()))
+                .tag("method", joinPoint.getSignature().getName())
+                .register(registry)
+                .record(rows.size());
+    }
+
+    private static String repositoryName(Object repository) {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(repository);
+        return interfaces.length > 0
+                ? interfaces[0].getSimpleName()
+                : repository.getClass().getSimpleName();
+    }
+}
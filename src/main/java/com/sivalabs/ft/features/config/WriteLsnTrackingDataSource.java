@@ -0,0 +1,72 @@
+package com.sivalabs.ft.features.config;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adds the primary's WAL position to the response of a request once one of its read-write transactions
+ * has committed, so that the client can send it back as a read-your-writes {@link ReplicationLsn}.
+ * Transactions outside of a request, like the outbox relay, are not tracked.
+ */
+class WriteLsnTrackingDataSource extends DelegatingDataSource {
+    private static final Logger log = LoggerFactory.getLogger(WriteLsnTrackingDataSource.class);
+    private static final String CURRENT_LSN_QUERY = "select pg_current_wal_lsn()::text";
+
+    WriteLsnTrackingDataSource(DataSource primary) {
+        super(primary);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracked(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return tracked(super.getConnection(username, password));
+    }
+
+    private Connection tracked(Connection connection) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return connection;
+        }
+        HttpServletResponse response = ReplicationLsn.currentResponse();
+        if (response == null
+                || TransactionSynchronizationManager.getSynchronizations().stream()
+                        .anyMatch(LsnAfterCommit.class::isInstance)) {
+            return connection;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new LsnAfterCommit(connection, response));
+        return connection;
+    }
+
+    private static class LsnAfterCommit implements TransactionSynchronization {
+        private final Connection connection;
+        private final HttpServletResponse response;
+
+        LsnAfterCommit(Connection connection, HttpServletResponse response) {
+            this.connection = connection;
+            this.response = response;
+        }
+
+        @Override
+        public void afterCommit() {
+            // The transaction's connection is still held here; a second one could wait for a free slot in the pool
+            try {
+                long lsn = ReplicationLsn.query(connection, CURRENT_LSN_QUERY);
+                response.setHeader(ReplicationLsn.HEADER, ReplicationLsn.format(lsn));
+            } catch (SQLException e) {
+                // Without the header the client's next reads just aren't pinned to its writes
+                log.warn("Failed to read the primary's WAL position", e);
+            }
+        }
+    }
+}
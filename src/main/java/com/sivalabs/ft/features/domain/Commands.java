@@ -21,13 +21,16 @@ public class Commands {
             String code, String description, ReleaseStatus status, Instant releasedAt, String updatedBy) {}
 
     /* Feature Commands */
+    public sealed interface FeatureBatchItem permits CreateFeatureCommand, UpdateFeatureCommand, DeleteFeatureCommand {}
+
     public record CreateFeatureCommand(
             String productCode,
             String releaseCode,
             String title,
             String description,
             String assignedTo,
-            String createdBy) {}
+            String createdBy)
+            implements FeatureBatchItem {}
 
     public record UpdateFeatureCommand(
             String code,
@@ -36,9 +39,10 @@ public class Commands {
             FeatureStatus status,
             String releaseCode,
             String assignedTo,
-            String updatedBy) {}
+            String updatedBy)
+            implements FeatureBatchItem {}
 
-    public record DeleteFeatureCommand(String code, String deletedBy) {}
+    public record DeleteFeatureCommand(String code, String deletedBy) implements FeatureBatchItem {}
 
     /* Comment Commands */
     public record CreateCommentCommand(String featureCode, String content, String createdBy) {}
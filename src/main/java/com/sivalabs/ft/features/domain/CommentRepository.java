@@ -1,20 +1,57 @@
 package com.sivalabs.ft.features.domain;
 
+import com.sivalabs.ft.features.domain.dtos.CommentDto;
 import com.sivalabs.ft.features.domain.entities.Comment;
+import java.time.Instant;
 import java.util.List;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+/**
+ * Comment pages are read as {@link CommentDto} projections in (created_at, id) order,
+ * which is served by idx_comments_feature_id_created_at without loading entities or their features.
+ */
 interface CommentRepository extends JpaRepository<Comment, Long> {
 
     @Modifying
     @Query("delete from Comment c where c.createdBy = :userId and c.id = :commentId")
     int deleteComment(Long commentId, String userId);
 
-    @Query("""
-            select c from Comment c where c.feature.code = :featureCode
+    @Query(
+            """
+            select new com.sivalabs.ft.features.domain.dtos.CommentDto(c.id, f.code, c.content, c.createdBy, c.createdAt)
+            from Comment c join c.feature f
+            where f.code = :featureCode
+            order by c.createdAt desc, c.id desc
             """)
-    List<Comment> findCommentsByFeatureCode(String featureCode, PageRequest pageRequest);
+    List<CommentDto> findNewestByFeatureCode(String featureCode, Limit limit);
+
+    @Query(
+            """
+            select new com.sivalabs.ft.features.domain.dtos.CommentDto(c.id, f.code, c.content, c.createdBy, c.createdAt)
+            from Comment c join c.feature f
+            where f.code = :featureCode and (c.createdAt, c.id) < (:createdAt, :id)
+            order by c.createdAt desc, c.id desc
+            """)
+    List<CommentDto> findNewestByFeatureCodeBefore(String featureCode, Instant createdAt, long id, Limit limit);
+
+    @Query(
+            """
+            select new com.sivalabs.ft.features.domain.dtos.CommentDto(c.id, f.code, c.content, c.createdBy, c.createdAt)
+            from Comment c join c.feature f
+            where f.code = :featureCode
+            order by c.createdAt, c.id
+            """)
+    List<CommentDto> findOldestByFeatureCode(String featureCode, Limit limit);
+
+    @Query(
+            """
+            select new com.sivalabs.ft.features.domain.dtos.CommentDto(c.id, f.code, c.content, c.createdBy, c.createdAt)
+            from Comment c join c.feature f
+            where f.code = :featureCode and (c.createdAt, c.id) > (:createdAt, :id)
+            order by c.createdAt, c.id
+            """)
+    List<CommentDto> findOldestByFeatureCodeAfter(String featureCode, Instant createdAt, long id, Limit limit);
 }
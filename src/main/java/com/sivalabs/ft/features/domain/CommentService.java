@@ -1,27 +1,29 @@
 package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.dtos.CommentDto;
+import com.sivalabs.ft.features.domain.dtos.PagedResult;
 import com.sivalabs.ft.features.domain.entities.Comment;
 import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
 import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
-import com.sivalabs.ft.features.domain.mappers.CommentMapper;
+import io.micrometer.core.annotation.Timed;
 import java.time.Instant;
 import java.util.List;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed("ft.service")
 public class CommentService {
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 100;
     private final CommentRepository commentRepository;
     private final FeatureRepository featureRepository;
-    private final CommentMapper commentMapper;
 
-    CommentService(
-            CommentRepository commentRepository, FeatureRepository featureRepository, CommentMapper commentMapper) {
+    CommentService(CommentRepository commentRepository, FeatureRepository featureRepository) {
         this.commentRepository = commentRepository;
         this.featureRepository = featureRepository;
-        this.commentMapper = commentMapper;
     }
 
     @Transactional
@@ -48,10 +50,36 @@ public class CommentService {
         }
     }
 
+    /**
+     * Returns a page of comments of the feature, newest first for {@link Sort.Direction#DESC}.
+     * Pages are read with a (created_at, id) keyset, so every page costs one index range scan however deep it is.
+     */
     @Transactional(readOnly = true)
-    public List<CommentDto> findCommentsByFeatureCode(String featureCode, int page, int size) {
-        PageRequest pageRequest = PageRequest.of(page, size);
-        List<Comment> comments = commentRepository.findCommentsByFeatureCode(featureCode, pageRequest);
-        return comments.stream().map(commentMapper::toDto).toList();
+    public PagedResult<CommentDto> findCommentsByFeatureCode(
+            String featureCode, String after, int limit, Sort.Direction direction) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Cursors.Keyset keyset = Cursors.decodeKeyset(after);
+        // Fetch one extra row to find out whether there is a next page without a count query
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<CommentDto> comments;
+        if (direction.isDescending()) {
+            comments = keyset == null
+                    ? commentRepository.findNewestByFeatureCode(featureCode, fetchLimit)
+                    : commentRepository.findNewestByFeatureCodeBefore(
+                            featureCode, keyset.timestamp(), keyset.id(), fetchLimit);
+        } else {
+            comments = keyset == null
+                    ? commentRepository.findOldestByFeatureCode(featureCode, fetchLimit)
+                    : commentRepository.findOldestByFeatureCodeAfter(
+                            featureCode, keyset.timestamp(), keyset.id(), fetchLimit);
+        }
+        if (comments.size() <= limit) {
+            return new PagedResult<>(comments, null);
+        }
+        List<CommentDto> page = comments.subList(0, limit);
+        CommentDto last = page.getLast();
+        return new PagedResult<>(page, Cursors.encodeKeyset(last.createdAt(), last.id()));
     }
 }
@@ -0,0 +1,121 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors used for keyset pagination.
+ * Clients must treat cursors as opaque tokens and only echo back values returned by the API.
+ */
+final class Cursors {
+    private static final String OFFSET_PREFIX = "o:";
+    private static final String CHANGE_PREFIX = "c:";
+    private static final String KEYSET_SEPARATOR = "|";
+
+    private Cursors() {}
+
+    static String encodeId(long id) {
+        return encode(String.valueOf(id));
+    }
+
+    static long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Offset cursors are used where results are ordered by something other than the id, like search rank.
+     */
+    static String encodeOffset(int offset) {
+        return encode(OFFSET_PREFIX + offset);
+    }
+
+    static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String value = decode(cursor);
+            if (!value.startsWith(OFFSET_PREFIX)) {
+                throw new IllegalArgumentException();
+            }
+            int offset = Integer.parseInt(value.substring(OFFSET_PREFIX.length()));
+            if (offset < 0) {
+                throw new IllegalArgumentException();
+            }
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Keyset cursors carry the sort key of the last row, for results ordered by a timestamp with the id as tiebreaker.
+     */
+    static String encodeKeyset(Instant timestamp, long id) {
+        return encode(timestamp + KEYSET_SEPARATOR + id);
+    }
+
+    static Keyset decodeKeyset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = decode(cursor);
+            int separator = value.indexOf(KEYSET_SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new Keyset(
+                    Instant.parse(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    record Keyset(Instant timestamp, long id) {}
+
+    /**
+     * Change tokens carry a position in the feature change log and when they were handed out,
+     * so that tokens older than the log's retention can be told apart from invalid ones.
+     */
+    static String encodeChangeToken(ChangeToken token) {
+        return encode(CHANGE_PREFIX + token.txId() + KEYSET_SEPARATOR + token.id() + KEYSET_SEPARATOR
+                + token.issuedAt());
+    }
+
+    static ChangeToken decodeChangeToken(String token) {
+        try {
+            String value = decode(token);
+            if (!value.startsWith(CHANGE_PREFIX)) {
+                throw new IllegalArgumentException();
+            }
+            String[] parts = value.substring(CHANGE_PREFIX.length()).split("\\" + KEYSET_SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException();
+            }
+            return new ChangeToken(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Instant.parse(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid token: " + token);
+        }
+    }
+
+    record ChangeToken(long txId, long id, Instant issuedAt) {}
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
@@ -3,16 +3,17 @@ package com.sivalabs.ft.features.domain;
 import com.sivalabs.ft.features.domain.entities.FavoriteFeature;
 import com.sivalabs.ft.features.domain.entities.Feature;
 import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
-import com.sivalabs.ft.features.domain.models.UserFavoriteFeature;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import io.micrometer.core.annotation.Timed;
 import java.util.Set;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed("ft.service")
 public class FavoriteFeatureService {
+    public static final String FAVORITE_FEATURES_CACHE = "favorite-features";
     private final FavoriteFeatureRepository favoriteFeatureRepository;
     private final FeatureRepository featureRepository;
 
@@ -21,20 +22,17 @@ public class FavoriteFeatureService {
         this.featureRepository = featureRepository;
     }
 
+    /**
+     * Returns the ids of all features favorited by the given user.
+     * The result is cached per user and evicted whenever the user adds or removes a favorite.
+     */
+    @Cacheable(cacheNames = FAVORITE_FEATURES_CACHE, key = "#userId")
     @Transactional(readOnly = true)
-    public Map<String, Boolean> getFavoriteFeatures(String userId, Set<String> featureCodes) {
-        List<UserFavoriteFeature> favoriteFeatures =
-                this.favoriteFeatureRepository.findByUserIdAndFeatureCodes(userId, featureCodes);
-        if (favoriteFeatures.isEmpty()) {
-            return Map.of();
-        }
-        Map<String, Boolean> result = new HashMap<>();
-        for (UserFavoriteFeature favoriteFeature : favoriteFeatures) {
-            result.put(favoriteFeature.code(), favoriteFeature.isFavorite());
-        }
-        return result;
+    public Set<Long> getFavoriteFeatureIds(String userId) {
+        return Set.copyOf(favoriteFeatureRepository.findFeatureIdsByUserId(userId));
     }
 
+    @CacheEvict(cacheNames = FAVORITE_FEATURES_CACHE, key = "#userId")
     @Transactional
     public void addFavoriteFeature(String userId, String featureCode) {
         // Check if the feature exists
@@ -50,6 +48,7 @@ public class FavoriteFeatureService {
         favoriteFeatureRepository.save(favoriteFeature);
     }
 
+    @CacheEvict(cacheNames = FAVORITE_FEATURES_CACHE, key = "#userId")
     @Transactional
     public void removeFavoriteFeature(String userId, String featureCode) {
         int count = favoriteFeatureRepository.deleteByUserIdAndFeatureCode(userId, featureCode);
@@ -0,0 +1,273 @@
+package com.sivalabs.ft.features.domain;
+
+import static com.sivalabs.ft.features.domain.FeatureService.FEATURE_SEPARATOR;
+
+import com.sivalabs.ft.features.domain.Commands.CreateFeatureCommand;
+import com.sivalabs.ft.features.domain.Commands.DeleteFeatureCommand;
+import com.sivalabs.ft.features.domain.Commands.FeatureBatchItem;
+import com.sivalabs.ft.features.domain.Commands.UpdateFeatureCommand;
+import com.sivalabs.ft.features.domain.dtos.FeatureBatchResult;
+import com.sivalabs.ft.features.domain.dtos.FeatureBatchResult.Status;
+import com.sivalabs.ft.features.domain.entities.Feature;
+import com.sivalabs.ft.features.domain.entities.Product;
+import com.sivalabs.ft.features.domain.entities.Release;
+import com.sivalabs.ft.features.domain.events.EventPublisher;
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import com.sivalabs.ft.features.domain.models.FeatureChangeType;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies many feature create/update/delete commands in one transaction.
+ * Products, releases and features are loaded with one query each, feature codes come from
+ * {@link FeatureCodeAllocator}, writes go out as JDBC batches and all events and changes are recorded
+ * with batch inserts.
+ * The features to update or delete are locked before they are loaded, so that concurrent writers can't
+ * change them between the load and the writes.
+ * Items that fail validation are reported as {@link Status#FAILED} and skipped; the rest are applied.
+ */
+@Service
+public class FeatureBatchService {
+    public static final int MAX_BATCH_SIZE = 1000;
+    private final ProductRepository productRepository;
+    private final ReleaseRepository releaseRepository;
+    private final FeatureRepository featureRepository;
+    private final FavoriteFeatureRepository favoriteFeatureRepository;
+    private final EventPublisher eventPublisher;
+    private final FeatureCodeAllocator featureCodeAllocator;
+    private final FeatureStatusCounts featureStatusCounts;
+    private final FeatureChangeLog featureChangeLog;
+
+    FeatureBatchService(
+            ProductRepository productRepository,
+            ReleaseRepository releaseRepository,
+            FeatureRepository featureRepository,
+            FavoriteFeatureRepository favoriteFeatureRepository,
+            EventPublisher eventPublisher,
+            FeatureCodeAllocator featureCodeAllocator,
+            FeatureStatusCounts featureStatusCounts,
+            FeatureChangeLog featureChangeLog) {
+        this.productRepository = productRepository;
+        this.releaseRepository = releaseRepository;
+        this.featureRepository = featureRepository;
+        this.favoriteFeatureRepository = favoriteFeatureRepository;
+        this.eventPublisher = eventPublisher;
+        this.featureCodeAllocator = featureCodeAllocator;
+        this.featureStatusCounts = featureStatusCounts;
+        this.featureChangeLog = featureChangeLog;
+    }
+
+    @Transactional
+    public List<FeatureBatchResult> processBatch(List<FeatureBatchItem> items, String username) {
+        if (items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " items");
+        }
+        Map<String, Product> products =
+                findByCodes(productCodes(items), productRepository::findByCodeIn, Product::getCode);
+        Map<String, Release> releases =
+                findByCodes(releaseCodes(items), releaseRepository::findByCodeIn, Release::getCode);
+        Set<String> featureCodes = featureCodes(items);
+        if (!featureCodes.isEmpty()) {
+            // The status count deltas and the bulk delete rely on the loaded state staying current
+            featureRepository.lockByCodeIn(featureCodes);
+        }
+        Map<String, Feature> features = findByCodes(featureCodes, featureRepository::findByCodeIn, Feature::getCode);
+
+        FeatureBatchResult[] results = new FeatureBatchResult[items.size()];
+        List<Integer> createIndexes = new ArrayList<>();
+        List<Feature> created = new ArrayList<>();
+        List<Feature> updated = new ArrayList<>();
+        List<Feature> deleted = new ArrayList<>();
+        Set<String> seenCodes = new HashSet<>();
+        var statusCountDeltas = new FeatureStatusCounts.Deltas();
+        Instant now = Instant.now();
+
+        for (int i = 0; i < items.size(); i++) {
+            switch (items.get(i)) {
+                case CreateFeatureCommand cmd -> {
+                    String error = validateCreate(cmd, products, releases);
+                    if (error != null) {
+                        results[i] = FeatureBatchResult.failed(i, null, error);
+                        continue;
+                    }
+                    created.add(newFeature(cmd, products.get(cmd.productCode()), releases.get(cmd.releaseCode()), now));
+                    createIndexes.add(i);
+                }
+                case UpdateFeatureCommand cmd -> {
+                    String error = validateUpdate(cmd, features, releases, seenCodes);
+                    if (error != null) {
+                        results[i] = FeatureBatchResult.failed(i, cmd.code(), error);
+                        continue;
+                    }
+                    Feature feature = features.get(cmd.code());
+                    var before = FeatureStatusCounts.Key.of(feature);
+                    feature.setTitle(cmd.title());
+                    feature.setDescription(cmd.description());
+                    feature.setRelease(cmd.releaseCode() == null ? null : releases.get(cmd.releaseCode()));
+                    feature.setAssignedTo(cmd.assignedTo());
+                    feature.setStatus(cmd.status());
+                    feature.setUpdatedBy(cmd.updatedBy());
+                    feature.setUpdatedAt(now);
+                    updated.add(feature);
+                    statusCountDeltas.changed(before, feature);
+                    results[i] = FeatureBatchResult.succeeded(i, cmd.code(), Status.UPDATED);
+                }
+                case DeleteFeatureCommand cmd -> {
+                    String error = validateDelete(cmd, features, seenCodes);
+                    if (error != null) {
+                        results[i] = FeatureBatchResult.failed(i, cmd.code(), error);
+                        continue;
+                    }
+                    deleted.add(features.get(cmd.code()));
+                    statusCountDeltas.removed(features.get(cmd.code()));
+                    results[i] = FeatureBatchResult.succeeded(i, cmd.code(), Status.DELETED);
+                }
+            }
+        }
+
+        if (!created.isEmpty()) {
+            long[] codeNumbers = featureCodeAllocator.nextIds(created.size());
+            for (int j = 0; j < created.size(); j++) {
+                Feature feature = created.get(j);
+                feature.setCode(feature.getProduct().getPrefix() + FEATURE_SEPARATOR + codeNumbers[j]);
+                int index = createIndexes.get(j);
+                results[index] = FeatureBatchResult.succeeded(index, feature.getCode(), Status.CREATED);
+                statusCountDeltas.added(feature);
+            }
+            featureRepository.saveAll(created);
+        }
+        if (!deleted.isEmpty()) {
+            List<Long> ids = deleted.stream().map(Feature::getId).toList();
+            favoriteFeatureRepository.deleteByFeatureIdIn(ids);
+            featureRepository.deleteByIdIn(ids);
+        }
+        featureStatusCounts.apply(statusCountDeltas);
+        featureChangeLog.record(created, FeatureChangeType.CREATED);
+        featureChangeLog.record(updated, FeatureChangeType.UPDATED);
+        featureChangeLog.record(deleted, FeatureChangeType.DELETED);
+        eventPublisher.publishFeatureBatchEvents(created, updated, deleted, username, now);
+        return List.of(results);
+    }
+
+    private static <T> Map<String, T> findByCodes(
+            Set<String> codes, Function<Set<String>, List<T>> finder, Function<T, String> codeExtractor) {
+        if (codes.isEmpty()) {
+            return Map.of();
+        }
+        return finder.apply(codes).stream().collect(Collectors.toMap(codeExtractor, Function.identity()));
+    }
+
+    private static Set<String> productCodes(List<FeatureBatchItem> items) {
+        return items.stream()
+                .filter(item -> item instanceof CreateFeatureCommand)
+                .map(item -> ((CreateFeatureCommand) item).productCode())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> releaseCodes(List<FeatureBatchItem> items) {
+        return items.stream()
+                .map(item -> switch (item) {
+                    case CreateFeatureCommand cmd -> cmd.releaseCode();
+                    case UpdateFeatureCommand cmd -> cmd.releaseCode();
+                    case DeleteFeatureCommand cmd -> null;
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> featureCodes(List<FeatureBatchItem> items) {
+        return items.stream()
+                .map(item -> switch (item) {
+                    case CreateFeatureCommand cmd -> null;
+                    case UpdateFeatureCommand cmd -> cmd.code();
+                    case DeleteFeatureCommand cmd -> cmd.code();
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static String validateCreate(
+            CreateFeatureCommand cmd, Map<String, Product> products, Map<String, Release> releases) {
+        if (StringUtils.isBlank(cmd.productCode())) {
+            return "Product code is required";
+        }
+        if (!products.containsKey(cmd.productCode())) {
+            return "Product not found: " + cmd.productCode();
+        }
+        if (cmd.releaseCode() != null && !releases.containsKey(cmd.releaseCode())) {
+            return "Release not found: " + cmd.releaseCode();
+        }
+        return validateTitle(cmd.title());
+    }
+
+    private static String validateUpdate(
+            UpdateFeatureCommand cmd,
+            Map<String, Feature> features,
+            Map<String, Release> releases,
+            Set<String> seenCodes) {
+        String error = validateExisting(cmd.code(), features, seenCodes);
+        if (error != null) {
+            return error;
+        }
+        if (cmd.releaseCode() != null && !releases.containsKey(cmd.releaseCode())) {
+            return "Release not found: " + cmd.releaseCode();
+        }
+        if (cmd.status() == null) {
+            return "Status is required";
+        }
+        return validateTitle(cmd.title());
+    }
+
+    private static String validateDelete(
+            DeleteFeatureCommand cmd, Map<String, Feature> features, Set<String> seenCodes) {
+        return validateExisting(cmd.code(), features, seenCodes);
+    }
+
+    private static String validateExisting(String code, Map<String, Feature> features, Set<String> seenCodes) {
+        if (StringUtils.isBlank(code)) {
+            return "Feature code is required";
+        }
+        if (!features.containsKey(code)) {
+            return "Feature not found: " + code;
+        }
+        if (!seenCodes.add(code)) {
+            return "Feature " + code + " appears more than once in the batch";
+        }
+        return null;
+    }
+
+    private static String validateTitle(String title) {
+        if (StringUtils.isBlank(title)) {
+            return "Title is required";
+        }
+        if (title.length() > 500) {
+            return "Title cannot exceed 500 characters";
+        }
+        return null;
+    }
+
+    private static Feature newFeature(CreateFeatureCommand cmd, Product product, Release release, Instant now) {
+        var feature = new Feature();
+        feature.setProduct(product);
+        feature.setRelease(release);
+        feature.setTitle(cmd.title());
+        feature.setDescription(cmd.description());
+        feature.setStatus(FeatureStatus.NEW);
+        feature.setAssignedTo(cmd.assignedTo());
+        feature.setCreatedBy(cmd.createdBy());
+        feature.setCreatedAt(now);
+        return feature;
+    }
+}
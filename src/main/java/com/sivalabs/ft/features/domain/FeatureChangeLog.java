@@ -0,0 +1,130 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.domain.entities.Feature;
+import com.sivalabs.ft.features.domain.models.FeatureChangeType;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the feature_changes table, the append-only log behind the change feed of a product.
+ * Writers record their changes in their own transaction, so the log always matches the features.
+ * <p>
+ * The feed is ordered by the id of the writing transaction and then the row id, not by the row id alone:
+ * row ids are handed out before commit, so a lower id can become visible after a higher one has been read.
+ * Changes are only read once their transaction is older than the oldest transaction still running,
+ * from then on no change can appear before them. A position in the feed is such a (tx_id, id) pair.
+ * Changes older than ft.features.change-retention are purged.
+ */
+@Component
+class FeatureChangeLog {
+    private static final Logger log = LoggerFactory.getLogger(FeatureChangeLog.class);
+    private static final String INSERT =
+            "insert into feature_changes (product_id, feature_code, change_type) values (?, ?, ?)";
+    // One statement, so that the rows and the returned horizon come from the same snapshot
+    private static final String FIND_AFTER =
+            """
+            with horizon as (select pg_snapshot_xmin(pg_current_snapshot()) as xmin)
+            select h.xmin::text::bigint as horizon, c.id, c.tx_id::text::bigint as tx_id,
+                   c.feature_code, c.change_type, c.changed_at
+            from horizon h
+            left join lateral (
+                select * from feature_changes
+                where product_id = ?
+                  and (tx_id, id) > (cast(cast(? as text) as xid8), ?)
+                  and tx_id < h.xmin
+                order by tx_id, id
+                limit ?
+            ) c on true
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retention;
+
+    FeatureChangeLog(JdbcTemplate jdbcTemplate, ApplicationProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = properties.features().changeRetention();
+    }
+
+    record Change(long txId, long id, String featureCode, FeatureChangeType type, Instant changedAt) {}
+
+    /**
+     * @param horizon transaction id below which all changes have been read once {@code changes}
+     *     is shorter than the limit
+     */
+    record Changes(List<Change> changes, long horizon) {}
+
+    void record(Feature feature, FeatureChangeType type) {
+        record(List.of(feature), type);
+    }
+
+    void record(List<Feature> features, FeatureChangeType type) {
+        if (features.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = features.stream()
+                .map(feature -> new Object[] {feature.getProduct().getId(), feature.getCode(), type.name()})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+
+    /**
+     * Records an update of every feature of the release, for when they are unassigned from it.
+     */
+    void recordReleaseUnassigned(String releaseCode) {
+        jdbcTemplate.update(
+                """
+                insert into feature_changes (product_id, feature_code, change_type)
+                select product_id, code, ? from features where release_id = (select id from releases where code = ?)
+                """,
+                FeatureChangeType.UPDATED.name(),
+                releaseCode);
+    }
+
+    /**
+     * The changes of the product after the position, oldest first.
+     */
+    Changes findAfter(long productId, long txId, long id, int limit) {
+        List<Change> changes = new ArrayList<>();
+        long[] horizon = new long[1];
+        jdbcTemplate.query(
+                FIND_AFTER,
+                rs -> {
+                    horizon[0] = rs.getLong("horizon");
+                    if (rs.getObject("id") != null) {
+                        changes.add(new Change(
+                                rs.getLong("tx_id"),
+                                rs.getLong("id"),
+                                rs.getString("feature_code"),
+                                FeatureChangeType.valueOf(rs.getString("change_type")),
+                                rs.getTimestamp("changed_at").toInstant()));
+                    }
+                },
+                productId,
+                txId,
+                id,
+                limit);
+        return new Changes(changes, horizon[0]);
+    }
+
+    Duration getRetention() {
+        return retention;
+    }
+
+    @Scheduled(fixedDelayString = "${ft.features.change-purge-interval:1h}")
+    void purge() {
+        int purged = jdbcTemplate.update(
+                "delete from feature_changes where changed_at < current_timestamp - ? * interval '1 second'",
+                retention.toSeconds());
+        if (purged > 0) {
+            log.info("Purged {} feature changes older than {}", purged, retention);
+        }
+    }
+}
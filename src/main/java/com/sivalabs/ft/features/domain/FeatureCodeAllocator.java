@@ -0,0 +1,106 @@
+package com.sivalabs.ft.features.domain;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out feature code numbers from blocks reserved on feature_code_seq (pooled-lo).
+ * Each nextval reserves the block [value, value + BLOCK_SIZE), so replicas never hand out the same number
+ * and only one in BLOCK_SIZE creates goes to the database. Numbers are handed out lock-free;
+ * only refilling an exhausted block takes a lock.
+ * Numbers left in the current block when the application stops are never used.
+ */
+@Component
+class FeatureCodeAllocator implements MeterBinder {
+    private static final Logger log = LoggerFactory.getLogger(FeatureCodeAllocator.class);
+    // Must match the increment of feature_code_seq
+    static final int BLOCK_SIZE = 50;
+
+    private final FeatureRepository featureRepository;
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(0, 0));
+    // A lock rather than synchronized so that a virtual thread waiting on the refill doesn't pin its carrier
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private final AtomicLong reservedBlocks = new AtomicLong();
+
+    FeatureCodeAllocator(FeatureRepository featureRepository) {
+        this.featureRepository = featureRepository;
+    }
+
+    long nextId() {
+        while (true) {
+            Block block = current.get();
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                return id;
+            }
+            refill(block);
+        }
+    }
+
+    long[] nextIds(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = nextId();
+        }
+        return ids;
+    }
+
+    /**
+     * Number of reserved numbers not handed out yet, which would be lost if the application stopped now.
+     */
+    long getRemaining() {
+        Block block = current.get();
+        return Math.max(0, block.end - block.next.get());
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            // Another thread may have refilled while this one was waiting for the lock
+            if (current.get() == exhausted) {
+                long low = featureRepository.getNextFeatureCodeBlock();
+                current.set(new Block(low, low + BLOCK_SIZE));
+                reservedBlocks.incrementAndGet();
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void logUnusedCodes() {
+        long remaining = getRemaining();
+        if (remaining > 0) {
+            log.info("Discarding {} reserved feature code numbers on shutdown", remaining);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("ft.feature.codes.remaining", this, FeatureCodeAllocator::getRemaining)
+                .description("Reserved feature code numbers not handed out yet, lost on restart")
+                .register(registry);
+        FunctionCounter.builder("ft.feature.codes.blocks", reservedBlocks, AtomicLong::get)
+                .description("Blocks of feature code numbers reserved from the sequence")
+                .register(registry);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
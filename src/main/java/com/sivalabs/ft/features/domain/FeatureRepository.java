@@ -1,31 +1,136 @@
 package com.sivalabs.ft.features.domain;
 
+import com.sivalabs.ft.features.domain.dtos.FeatureDto;
 import com.sivalabs.ft.features.domain.entities.Feature;
+import com.sivalabs.ft.features.domain.models.EntityVersion;
+import com.sivalabs.ft.features.domain.models.VersionStamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.ListCrudRepository;
 
+/**
+ * Write paths load {@link Feature} entities; read paths select straight into {@link FeatureDto} records,
+ * which are never attached to the persistence context. The favorite flag is filled in by the service.
+ */
 interface FeatureRepository extends ListCrudRepository<Feature, Long> {
+    String FEATURE_DTO_SELECT =
+            """
+            select new com.sivalabs.ft.features.domain.dtos.FeatureDto(
+                f.id, f.code, f.title, f.description, f.status, r.code, false, f.assignedTo,
+                f.createdBy, f.createdAt, f.updatedBy, f.updatedAt, f.version)
+            from Feature f left join f.release r
+            """;
+
     @Query("select f from Feature f left join fetch f.release where f.code = :code")
     Optional<Feature> findByCode(String code);
 
-    @Query("select f from Feature f left join fetch f.release where f.release.code = :releaseCode")
-    List<Feature> findByReleaseCode(String releaseCode);
+    @Query("select f from Feature f left join fetch f.release where f.code in :codes")
+    List<Feature> findByCodeIn(Collection<String> codes);
+
+    /**
+     * Locks the features with the given codes until the end of the transaction, in id order so that
+     * concurrent batches can't deadlock. Load them after locking to see their latest state.
+     */
+    @Query(value = "select id from features where code in :codes order by id for update", nativeQuery = true)
+    List<Long> lockByCodeIn(Collection<String> codes);
+
+    @Query(FEATURE_DTO_SELECT + "where f.code = :code")
+    Optional<FeatureDto> findDtoByCode(String code);
+
+    @Query(FEATURE_DTO_SELECT + "where r.code = :releaseCode")
+    List<FeatureDto> findDtosByReleaseCode(String releaseCode);
+
+    @Query(FEATURE_DTO_SELECT + "where f.product.code = :productCode")
+    List<FeatureDto> findDtosByProductCode(String productCode);
+
+    @Query(
+            FEATURE_DTO_SELECT
+                    + """
+                    where f.release.id = (select r2.id from Release r2 where r2.code = :releaseCode) and f.id > :afterId
+                    order by f.id
+                    """)
+    List<FeatureDto> findDtosByReleaseCodeAfter(String releaseCode, long afterId, Limit limit);
+
+    @Query(
+            FEATURE_DTO_SELECT
+                    + """
+                    where f.product.id = (select p.id from Product p where p.code = :productCode) and f.id > :afterId
+                    order by f.id
+                    """)
+    List<FeatureDto> findDtosByProductCodeAfter(String productCode, long afterId, Limit limit);
 
-    @Query("select f from Feature f left join fetch f.release where f.product.code = :productCode")
-    List<Feature> findByProductCode(String productCode);
+    @Query(FEATURE_DTO_SELECT + "where f.id in :ids")
+    List<FeatureDto> findDtosByIdIn(Collection<Long> ids);
+
+    @Query(FEATURE_DTO_SELECT + "where f.code in :codes")
+    List<FeatureDto> findDtosByCodeIn(Collection<String> codes);
+
+    /**
+     * Returns the ids of the features matching the query, best match first.
+     * The match is answered by the GIN index on search_vector; only matching rows are ranked.
+     */
+    @Query(
+            value =
+                    """
+                    select f.id from features f
+                    where f.search_vector @@ websearch_to_tsquery('english', :query)
+                      and (cast(:productId as bigint) is null or f.product_id = :productId)
+                      and (cast(:releaseId as bigint) is null or f.release_id = :releaseId)
+                      and (cast(:status as text) is null or f.status = :status)
+                    order by ts_rank_cd(f.search_vector, websearch_to_tsquery('english', :query)) desc, f.id
+                    offset :offset limit :limit
+                    """,
+            nativeQuery = true)
+    List<Long> searchIds(String query, Long productId, Long releaseId, String status, int offset, int limit);
 
     @Modifying
     void deleteByCode(String code);
 
     @Modifying
-    @Query("update Feature f set f.release = null where f.release.code = :code")
+    @Query("delete from Feature f where f.id in :ids")
+    void deleteByIdIn(Collection<Long> ids);
+
+    @Query(
+            """
+            select new com.sivalabs.ft.features.domain.models.EntityVersion(f.id, f.version)
+            from Feature f where f.code = :code
+            """)
+    Optional<EntityVersion> findVersionByCode(String code);
+
+    @Query(
+            """
+            select new com.sivalabs.ft.features.domain.models.VersionStamp(
+                count(f), coalesce(max(f.id), 0), coalesce(sum(f.version), 0))
+            from Feature f where f.product.id = (select p.id from Product p where p.code = :productCode)
+            """)
+    VersionStamp getVersionStampByProductCode(String productCode);
+
+    /**
+     * Features move between releases, so count, max id and version sum of a release can stay the same
+     * while its features change (see {@link VersionStamp}). The tag digests every (id, version) pair instead.
+     */
+    @Query(
+            value =
+                    """
+                    select count(*) || '-' || md5(coalesce(string_agg(f.id || ':' || f.version, ',' order by f.id), ''))
+                    from features f where f.release_id = (select r.id from releases r where r.code = :releaseCode)
+                    """,
+            nativeQuery = true)
+    String getVersionTagByReleaseCode(String releaseCode);
+
+    @Modifying
+    @Query("update Feature f set f.release = null, f.version = f.version + 1 where f.release.code = :code")
     void unsetRelease(String code);
 
     boolean existsByCode(String code);
 
+    /**
+     * Reserves the next block of feature code numbers, see {@link FeatureCodeAllocator}.
+     */
     @Query(value = "select nextval('feature_code_seq')", nativeQuery = true)
-    long getNextFeatureId();
+    long getNextFeatureCodeBlock();
 }
@@ -3,53 +3,85 @@ package com.sivalabs.ft.features.domain;
 import com.sivalabs.ft.features.domain.Commands.CreateFeatureCommand;
 import com.sivalabs.ft.features.domain.Commands.DeleteFeatureCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateFeatureCommand;
+import com.sivalabs.ft.features.domain.dtos.FeatureChangeDto;
+import com.sivalabs.ft.features.domain.dtos.FeatureChangesDto;
 import com.sivalabs.ft.features.domain.dtos.FeatureDto;
+import com.sivalabs.ft.features.domain.dtos.PagedResult;
+import com.sivalabs.ft.features.domain.dtos.ProductDto;
+import com.sivalabs.ft.features.domain.dtos.ReleaseDto;
 import com.sivalabs.ft.features.domain.entities.Feature;
-import com.sivalabs.ft.features.domain.entities.Product;
 import com.sivalabs.ft.features.domain.entities.Release;
 import com.sivalabs.ft.features.domain.events.EventPublisher;
-import com.sivalabs.ft.features.domain.mappers.FeatureMapper;
+import com.sivalabs.ft.features.domain.exceptions.BadRequestException;
+import com.sivalabs.ft.features.domain.exceptions.ChangeTokenExpiredException;
+import com.sivalabs.ft.features.domain.exceptions.PreconditionFailedException;
+import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
+import com.sivalabs.ft.features.domain.models.FeatureChangeType;
+import com.sivalabs.ft.features.domain.models.FeatureSearchCriteria;
 import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import io.micrometer.core.annotation.Timed;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed("ft.service")
 public class FeatureService {
     public static final String FEATURE_SEPARATOR = "-";
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    /** Search pages by offset, which gets slower with every page, so only the best matches can be paged to. */
+    public static final int MAX_SEARCH_RESULTS = 1000;
     private final FavoriteFeatureService favoriteFeatureService;
+    private final ProductService productService;
+    private final ReleaseService releaseService;
     private final ReleaseRepository releaseRepository;
     private final FeatureRepository featureRepository;
     private final ProductRepository productRepository;
     private final FavoriteFeatureRepository favoriteFeatureRepository;
     private final EventPublisher eventPublisher;
-    private final FeatureMapper featureMapper;
+    private final FeatureCodeAllocator featureCodeAllocator;
+    private final FeatureStatusCounts featureStatusCounts;
+    private final FeatureChangeLog featureChangeLog;
 
     FeatureService(
             FavoriteFeatureService favoriteFeatureService,
+            ProductService productService,
+            ReleaseService releaseService,
             ReleaseRepository releaseRepository,
             FeatureRepository featureRepository,
             ProductRepository productRepository,
             FavoriteFeatureRepository favoriteFeatureRepository,
             EventPublisher eventPublisher,
-            FeatureMapper featureMapper) {
+            FeatureCodeAllocator featureCodeAllocator,
+            FeatureStatusCounts featureStatusCounts,
+            FeatureChangeLog featureChangeLog) {
         this.favoriteFeatureService = favoriteFeatureService;
+        this.productService = productService;
+        this.releaseService = releaseService;
         this.releaseRepository = releaseRepository;
         this.featureRepository = featureRepository;
         this.productRepository = productRepository;
         this.eventPublisher = eventPublisher;
         this.favoriteFeatureRepository = favoriteFeatureRepository;
-        this.featureMapper = featureMapper;
+        this.featureCodeAllocator = featureCodeAllocator;
+        this.featureStatusCounts = featureStatusCounts;
+        this.featureChangeLog = featureChangeLog;
     }
 
     @Transactional(readOnly = true)
     public Optional<FeatureDto> findFeatureByCode(String username, String code) {
-        Optional<Feature> optionalFeature = featureRepository.findByCode(code);
+        Optional<FeatureDto> optionalFeature = featureRepository.findDtoByCode(code);
         if (optionalFeature.isEmpty()) {
             return Optional.empty();
         }
@@ -59,31 +91,217 @@ public class FeatureService {
 
     @Transactional(readOnly = true)
     public List<FeatureDto> findFeaturesByRelease(String username, String releaseCode) {
-        List<Feature> features = featureRepository.findByReleaseCode(releaseCode);
+        List<FeatureDto> features = featureRepository.findDtosByReleaseCode(releaseCode);
         return updateFavoriteStatus(features, username);
     }
 
     @Transactional(readOnly = true)
     public List<FeatureDto> findFeaturesByProduct(String username, String productCode) {
-        List<Feature> features = featureRepository.findByProductCode(productCode);
+        List<FeatureDto> features = featureRepository.findDtosByProductCode(productCode);
         return updateFavoriteStatus(features, username);
     }
 
-    private List<FeatureDto> updateFavoriteStatus(List<Feature> features, String username) {
+    @Transactional(readOnly = true)
+    public PagedResult<FeatureDto> findFeaturesByRelease(String username, String releaseCode, String after, int limit) {
+        validatePageSize(limit);
+        // Fetch one extra row to find out whether there is a next page without a count query
+        List<FeatureDto> features =
+                featureRepository.findDtosByReleaseCodeAfter(releaseCode, Cursors.decodeId(after), Limit.of(limit + 1));
+        return toPage(features, limit, username);
+    }
+
+    @Transactional(readOnly = true)
+    public PagedResult<FeatureDto> findFeaturesByProduct(String username, String productCode, String after, int limit) {
+        validatePageSize(limit);
+        List<FeatureDto> features =
+                featureRepository.findDtosByProductCodeAfter(productCode, Cursors.decodeId(after), Limit.of(limit + 1));
+        return toPage(features, limit, username);
+    }
+
+    /**
+     * Full-text search over titles and descriptions, best match first.
+     * Ids are ranked and paged in one index-backed query, then only the page is loaded.
+     * Unknown product or release filters match nothing.
+     * Only the first {@link #MAX_SEARCH_RESULTS} matches are returned.
+     */
+    @Transactional(readOnly = true)
+    public PagedResult<FeatureDto> searchFeatures(
+            String username, FeatureSearchCriteria criteria, String after, int limit) {
+        validatePageSize(limit);
+        if (StringUtils.isBlank(criteria.query())) {
+            throw new BadRequestException("Search query is required");
+        }
+        Long productId = null;
+        if (criteria.productCode() != null) {
+            Optional<ProductDto> product = productService.findProductByCode(criteria.productCode());
+            if (product.isEmpty()) {
+                return new PagedResult<>(List.of(), null);
+            }
+            productId = product.get().id();
+        }
+        Long releaseId = null;
+        if (criteria.releaseCode() != null) {
+            Optional<ReleaseDto> release = releaseService.findReleaseByCode(criteria.releaseCode());
+            if (release.isEmpty()) {
+                return new PagedResult<>(List.of(), null);
+            }
+            releaseId = release.get().id();
+        }
+        String status = criteria.status() == null ? null : criteria.status().name();
+        int offset = Cursors.decodeOffset(after);
+        if (offset >= MAX_SEARCH_RESULTS) {
+            throw new BadRequestException(
+                    "Only the first " + MAX_SEARCH_RESULTS + " search results can be paged through, narrow the query");
+        }
+        int pageSize = Math.min(limit, MAX_SEARCH_RESULTS - offset);
+        List<Long> ids =
+                featureRepository.searchIds(criteria.query(), productId, releaseId, status, offset, pageSize + 1);
+        String nextCursor = null;
+        if (ids.size() > pageSize) {
+            ids = ids.subList(0, pageSize);
+            if (offset + pageSize < MAX_SEARCH_RESULTS) {
+                nextCursor = Cursors.encodeOffset(offset + pageSize);
+            }
+        }
+        if (ids.isEmpty()) {
+            return new PagedResult<>(List.of(), null);
+        }
+        Map<Long, FeatureDto> featuresById = featureRepository.findDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(FeatureDto::id, Function.identity()));
+        // Features deleted between the two queries are skipped
+        List<FeatureDto> features =
+                ids.stream().map(featuresById::get).filter(Objects::nonNull).toList();
+        return new PagedResult<>(updateFavoriteStatus(features, username), nextCursor);
+    }
+
+    /**
+     * Changes of the product's features after the token, each feature once with its latest change.
+     * Without a token nothing is returned but the token of the current position, so a client fetches
+     * a token first, then all features, and from then on only the changes.
+     *
+     * @throws ChangeTokenExpiredException if changes after the token may have been purged already
+     */
+    @Transactional(readOnly = true)
+    public FeatureChangesDto findFeatureChanges(String username, String productCode, String since, int limit) {
+        validatePageSize(limit);
+        ProductDto product = productService
+                .findProductByCode(productCode)
+                .orElseThrow(() -> new ResourceNotFoundException("Product with code " + productCode + " not found"));
+        Instant now = Instant.now();
+        long txId = 0;
+        long id = 0;
+        if (since != null) {
+            Cursors.ChangeToken token = Cursors.decodeChangeToken(since);
+            if (token.issuedAt().isBefore(now.minus(featureChangeLog.getRetention()))) {
+                throw new ChangeTokenExpiredException("Token has expired, reload all features");
+            }
+            txId = token.txId();
+            id = token.id();
+        }
+        // Without a token only the horizon is read, everything before it counts as loaded
+        FeatureChangeLog.Changes page =
+                featureChangeLog.findAfter(product.id(), txId, id, since == null ? 0 : limit + 1);
+        List<FeatureChangeLog.Change> changes = page.changes();
+        boolean hasMore = changes.size() > limit;
+        Cursors.ChangeToken next;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+            next = new Cursors.ChangeToken(changes.getLast().txId(), changes.getLast().id(), now);
+        } else if (since == null || page.horizon() > txId) {
+            next = new Cursors.ChangeToken(page.horizon(), 0, now);
+        } else {
+            next = new Cursors.ChangeToken(txId, id, now);
+        }
+        return new FeatureChangesDto(toChangeDtos(changes, username), Cursors.encodeChangeToken(next), hasMore);
+    }
+
+    private List<FeatureChangeDto> toChangeDtos(List<FeatureChangeLog.Change> changes, String username) {
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+        Map<String, FeatureChangeLog.Change> latest = new LinkedHashMap<>();
+        for (FeatureChangeLog.Change change : changes) {
+            // Re-inserted so that features are listed in the order of their latest change
+            latest.remove(change.featureCode());
+            latest.put(change.featureCode(), change);
+        }
+        Map<String, FeatureDto> features =
+                updateFavoriteStatus(featureRepository.findDtosByCodeIn(latest.keySet()), username).stream()
+                        .collect(Collectors.toMap(FeatureDto::code, Function.identity()));
+        return latest.values().stream()
+                .map(change -> {
+                    FeatureDto feature = features.get(change.featureCode());
+                    // Deleted by a change that comes after this page
+                    if (feature == null) {
+                        return new FeatureChangeDto(
+                                change.featureCode(), FeatureChangeType.DELETED, change.changedAt(), null);
+                    }
+                    return new FeatureChangeDto(change.featureCode(), change.type(), change.changedAt(), feature);
+                })
+                .toList();
+    }
+
+    private void validatePageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private PagedResult<FeatureDto> toPage(List<FeatureDto> features, int limit, String username) {
+        if (features.size() <= limit) {
+            return new PagedResult<>(updateFavoriteStatus(features, username), null);
+        }
+        List<FeatureDto> page = features.subList(0, limit);
+        String nextCursor = Cursors.encodeId(page.getLast().id());
+        return new PagedResult<>(updateFavoriteStatus(page, username), nextCursor);
+    }
+
+    private List<FeatureDto> updateFavoriteStatus(List<FeatureDto> features, String username) {
         if (username == null || features.isEmpty()) {
-            return features.stream().map(featureMapper::toDto).toList();
+            return features;
         }
-        Set<String> featureCodes = features.stream().map(Feature::getCode).collect(Collectors.toSet());
-        Map<String, Boolean> favoriteFeatures = favoriteFeatureService.getFavoriteFeatures(username, featureCodes);
+        Set<Long> favoriteFeatureIds = favoriteFeatureService.getFavoriteFeatureIds(username);
         return features.stream()
-                .map(feature -> {
-                    var dto = featureMapper.toDto(feature);
-                    dto.makeFavorite(favoriteFeatures.get(feature.getCode()));
-                    return dto;
-                })
+                .map(feature -> favoriteFeatureIds.contains(feature.id()) ? feature.makeFavorite(true) : feature)
                 .toList();
     }
 
+    /**
+     * Returns a tag that changes whenever the feature or its favorite flag for the user changes,
+     * read without loading the feature itself.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findFeatureVersionTag(String username, String code) {
+        return featureRepository.findVersionByCode(code).map(version -> {
+            boolean favorite = username != null
+                    && favoriteFeatureService.getFavoriteFeatureIds(username).contains(version.id());
+            return version.version() + (favorite ? "-f" : "");
+        });
+    }
+
+    /**
+     * Returns a tag that changes whenever a feature of the product is created, updated or deleted,
+     * or the user's favorites change.
+     */
+    @Transactional(readOnly = true)
+    public String getFeaturesVersionTagByProduct(String username, String productCode) {
+        return withFavorites(featureRepository.getVersionStampByProductCode(productCode).tag(), username);
+    }
+
+    @Transactional(readOnly = true)
+    public String getFeaturesVersionTagByRelease(String username, String releaseCode) {
+        return withFavorites(featureRepository.getVersionTagByReleaseCode(releaseCode), username);
+    }
+
+    private String withFavorites(String tag, String username) {
+        if (username == null) {
+            return tag;
+        }
+        int favoritesHash =
+                favoriteFeatureService.getFavoriteFeatureIds(username).hashCode();
+        return tag + "-" + Integer.toHexString(favoritesHash);
+    }
+
     @Transactional(readOnly = true)
     public boolean isFeatureExists(String code) {
         return featureRepository.existsByCode(code);
@@ -91,12 +309,11 @@ public class FeatureService {
 
     @Transactional
     public String createFeature(CreateFeatureCommand cmd) {
-        Product product = productRepository.findByCode(cmd.productCode()).orElseThrow();
-        Release release = releaseRepository.findByCode(cmd.releaseCode()).orElse(null);
-        String code = product.getPrefix() + FEATURE_SEPARATOR + featureRepository.getNextFeatureId();
+        ProductDto product = productService.findProductByCode(cmd.productCode()).orElseThrow();
+        String code = product.prefix() + FEATURE_SEPARATOR + featureCodeAllocator.nextId();
         var feature = new Feature();
-        feature.setProduct(product);
-        feature.setRelease(release);
+        feature.setProduct(productRepository.getReferenceById(product.id()));
+        feature.setRelease(findReleaseReference(cmd.releaseCode()));
         feature.setCode(code);
         feature.setTitle(cmd.title());
         feature.setDescription(cmd.description());
@@ -105,34 +322,62 @@ public class FeatureService {
         feature.setCreatedBy(cmd.createdBy());
         feature.setCreatedAt(Instant.now());
         featureRepository.save(feature);
+        featureStatusCounts.apply(new FeatureStatusCounts.Deltas().added(feature));
+        featureChangeLog.record(feature, FeatureChangeType.CREATED);
         eventPublisher.publishFeatureCreatedEvent(feature);
         return code;
     }
 
     @Transactional
     public void updateFeature(UpdateFeatureCommand cmd) {
+        updateFeature(cmd, null);
+    }
+
+    /**
+     * Updates the feature only if it is still at the expected version, any version if that is null.
+     * An update committed between this check and the write still fails with an optimistic locking failure.
+     */
+    @Transactional
+    public void updateFeature(UpdateFeatureCommand cmd, Long expectedVersion) {
         Feature feature = featureRepository.findByCode(cmd.code()).orElseThrow();
+        if (expectedVersion != null && !expectedVersion.equals(feature.getVersion())) {
+            throw new PreconditionFailedException("Feature " + cmd.code() + " was modified, reload it and try again");
+        }
+        var before = FeatureStatusCounts.Key.of(feature);
         feature.setTitle(cmd.title());
         feature.setDescription(cmd.description());
-        if (cmd.releaseCode() != null) {
-            Release release = releaseRepository.findByCode(cmd.releaseCode()).orElse(null);
-            feature.setRelease(release);
-        } else {
-            feature.setRelease(null);
-        }
+        feature.setRelease(findReleaseReference(cmd.releaseCode()));
         feature.setAssignedTo(cmd.assignedTo());
         feature.setStatus(cmd.status());
         feature.setUpdatedBy(cmd.updatedBy());
         feature.setUpdatedAt(Instant.now());
         featureRepository.save(feature);
+        featureStatusCounts.apply(new FeatureStatusCounts.Deltas().changed(before, feature));
+        featureChangeLog.record(feature, FeatureChangeType.UPDATED);
         eventPublisher.publishFeatureUpdatedEvent(feature);
     }
 
+    /**
+     * Resolves the release through the release cache and returns a lazy reference,
+     * so that assigning a release doesn't need a lookup by code.
+     */
+    private Release findReleaseReference(String releaseCode) {
+        if (releaseCode == null) {
+            return null;
+        }
+        return releaseService
+                .findReleaseByCode(releaseCode)
+                .map(release -> releaseRepository.getReferenceById(release.id()))
+                .orElse(null);
+    }
+
     @Transactional
     public void deleteFeature(DeleteFeatureCommand cmd) {
         Feature feature = featureRepository.findByCode(cmd.code()).orElseThrow();
         favoriteFeatureRepository.deleteByFeatureCode(cmd.code());
         featureRepository.deleteByCode(cmd.code());
+        featureStatusCounts.apply(new FeatureStatusCounts.Deltas().removed(feature));
+        featureChangeLog.record(feature, FeatureChangeType.DELETED);
         eventPublisher.publishFeatureDeletedEvent(feature, cmd.deletedBy(), Instant.now());
     }
 }
@@ -0,0 +1,40 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.dtos.FeatureStatsDto;
+import io.micrometer.core.annotation.Timed;
+import java.util.Optional;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Feature counts per status, read from the counters maintained by {@link FeatureStatusCounts}
+ * instead of counting the features.
+ */
+@Service
+@Timed("ft.service")
+public class FeatureStatsService {
+    private final ProductService productService;
+    private final ReleaseService releaseService;
+    private final FeatureStatusCounts featureStatusCounts;
+
+    FeatureStatsService(
+            ProductService productService, ReleaseService releaseService, FeatureStatusCounts featureStatusCounts) {
+        this.productService = productService;
+        this.releaseService = releaseService;
+        this.featureStatusCounts = featureStatusCounts;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<FeatureStatsDto> getFeatureStatsByProduct(String productCode) {
+        return productService
+                .findProductByCode(productCode)
+                .map(product -> FeatureStatsDto.of(productCode, featureStatusCounts.countByProductId(product.id())));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<FeatureStatsDto> getFeatureStatsByRelease(String releaseCode) {
+        return releaseService
+                .findReleaseByCode(releaseCode)
+                .map(release -> FeatureStatsDto.of(releaseCode, featureStatusCounts.countByReleaseId(release.id())));
+    }
+}
@@ -0,0 +1,165 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.entities.Feature;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.sql.Types;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the feature_status_counts table, the number of features per product, release and status.
+ * Writers apply the changes they made as deltas in their own transaction, so the counts always match the features.
+ * They are also recounted from the features every ft.features.status-count-recount-interval, see {@link #recount}.
+ */
+@Component
+class FeatureStatusCounts {
+    private static final Logger log = LoggerFactory.getLogger(FeatureStatusCounts.class);
+    private static final String UPSERT =
+            """
+            insert into feature_status_counts (product_id, release_id, status, feature_count)
+            values (?, ?, ?, ?)
+            on conflict (product_id, release_id, status)
+            do update set feature_count = feature_status_counts.feature_count + excluded.feature_count
+            """;
+    private static final int[] UPSERT_TYPES = {Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.BIGINT};
+    // Rows are always updated in this order so that concurrent writers can't deadlock on them
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::productId)
+            .thenComparing(Key::releaseId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Key::status);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    FeatureStatusCounts(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    record Key(Long productId, Long releaseId, FeatureStatus status) {
+        static Key of(Feature feature) {
+            Long releaseId =
+                    feature.getRelease() == null ? null : feature.getRelease().getId();
+            return new Key(feature.getProduct().getId(), releaseId, feature.getStatus());
+        }
+    }
+
+    /**
+     * Changes to the counts made by one write, collected before they are applied.
+     */
+    static final class Deltas {
+        private final Map<Key, Long> deltas = new HashMap<>();
+
+        Deltas add(Key key, long delta) {
+            deltas.merge(key, delta, Long::sum);
+            return this;
+        }
+
+        Deltas added(Feature feature) {
+            deltas.merge(Key.of(feature), 1L, Long::sum);
+            return this;
+        }
+
+        Deltas removed(Feature feature) {
+            deltas.merge(Key.of(feature), -1L, Long::sum);
+            return this;
+        }
+
+        Deltas changed(Key before, Feature after) {
+            Key now = Key.of(after);
+            if (!now.equals(before)) {
+                deltas.merge(before, -1L, Long::sum);
+                deltas.merge(now, 1L, Long::sum);
+            }
+            return this;
+        }
+    }
+
+    void apply(Deltas deltas) {
+        List<Object[]> rows = deltas.deltas.entrySet().stream()
+                .filter(delta -> delta.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey(KEY_ORDER))
+                .map(delta -> new Object[] {
+                    delta.getKey().productId(),
+                    delta.getKey().releaseId(),
+                    delta.getKey().status().name(),
+                    delta.getValue()
+                })
+                .toList();
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, rows, UPSERT_TYPES);
+        }
+    }
+
+    /**
+     * Moves the counts of a release to the no-release rows of its product, for when its features are unassigned.
+     */
+    void moveToNoRelease(String releaseCode) {
+        jdbcTemplate.update(
+                """
+                with moved as (
+                    delete from feature_status_counts
+                    where release_id = (select id from releases where code = ?)
+                    returning product_id, status, feature_count
+                )
+                insert into feature_status_counts (product_id, release_id, status, feature_count)
+                select product_id, null, status, feature_count from moved
+                on conflict (product_id, release_id, status)
+                do update set feature_count = feature_status_counts.feature_count + excluded.feature_count
+                """,
+                releaseCode);
+    }
+
+    /**
+     * Recomputes the counts from the features, repairing drift from writes that didn't maintain them, such as those
+     * of replicas still running a version from before the table existed during a rolling deploy.
+     * The table lock waits for writers that already applied their deltas to commit, and holds off the deltas of
+     * the others until the recount commits; those are then applied on top of it, so no change is counted twice.
+     */
+    @Scheduled(fixedDelayString = "${ft.features.status-count-recount-interval:1h}")
+    @Transactional
+    void recount() {
+        jdbcTemplate.execute("lock table feature_status_counts in share row exclusive mode");
+        jdbcTemplate.update("delete from feature_status_counts");
+        int rows = jdbcTemplate.update(
+                """
+                insert into feature_status_counts (product_id, release_id, status, feature_count)
+                select product_id, release_id, status, count(*)
+                from features
+                group by product_id, release_id, status
+                """);
+        log.debug("Recounted features into {} status counts", rows);
+    }
+
+    Map<FeatureStatus, Long> countByProductId(long productId) {
+        return count(
+                "select status, sum(feature_count) from feature_status_counts where product_id = ? group by status",
+                productId);
+    }
+
+    Map<FeatureStatus, Long> countByReleaseId(long releaseId) {
+        return count(
+                "select status, sum(feature_count) from feature_status_counts where release_id = ? group by status",
+                releaseId);
+    }
+
+    private Map<FeatureStatus, Long> count(String sql, long id) {
+        Map<FeatureStatus, Long> counts = new EnumMap<>(FeatureStatus.class);
+        for (FeatureStatus status : FeatureStatus.values()) {
+            counts.put(status, 0L);
+        }
+        jdbcTemplate.query(
+                sql,
+                rs -> {
+                    counts.put(FeatureStatus.valueOf(rs.getString(1)), rs.getLong(2));
+                },
+                id);
+        return counts;
+    }
+}
@@ -1,9 +1,37 @@
 package com.sivalabs.ft.features.domain;
 
+import com.sivalabs.ft.features.domain.dtos.ProductDto;
 import com.sivalabs.ft.features.domain.entities.Product;
+import com.sivalabs.ft.features.domain.models.VersionStamp;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+interface ProductRepository extends JpaRepository<Product, Long> {
+    String PRODUCT_DTO_SELECT =
+            """
+            select new com.sivalabs.ft.features.domain.dtos.ProductDto(
+                p.id, p.code, p.prefix, p.name, p.description, p.imageUrl, p.disabled, p.createdBy, p.version)
+            from Product p
+            """;
 
-interface ProductRepository extends ListCrudRepository<Product, Long> {
     Optional<Product> findByCode(String code);
+
+    @Query(PRODUCT_DTO_SELECT + "where p.code = :code")
+    Optional<ProductDto> findDtoByCode(String code);
+
+    @Query(PRODUCT_DTO_SELECT + "order by p.id")
+    List<ProductDto> findAllDtos();
+
+    List<Product> findByCodeIn(Collection<String> codes);
+
+    @Query(
+            """
+            select new com.sivalabs.ft.features.domain.models.VersionStamp(
+                count(p), coalesce(max(p.id), 0), coalesce(sum(p.version), 0))
+            from Product p
+            """)
+    VersionStamp getVersionStamp();
 }
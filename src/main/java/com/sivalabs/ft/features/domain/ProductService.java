@@ -5,30 +5,45 @@ import com.sivalabs.ft.features.domain.Commands.UpdateProductCommand;
 import com.sivalabs.ft.features.domain.dtos.ProductDto;
 import com.sivalabs.ft.features.domain.entities.Product;
 import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
-import com.sivalabs.ft.features.domain.mappers.ProductMapper;
+import io.micrometer.core.annotation.Timed;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed("ft.service")
 public class ProductService {
+    public static final String PRODUCTS_CACHE = "products";
     private final ProductRepository productRepository;
-    private final ProductMapper productMapper;
 
-    ProductService(ProductRepository productRepository, ProductMapper productMapper) {
+    ProductService(ProductRepository productRepository) {
         this.productRepository = productRepository;
-        this.productMapper = productMapper;
     }
 
     @Transactional(readOnly = true)
     public List<ProductDto> findAllProducts() {
-        return productRepository.findAll().stream().map(productMapper::toDto).toList();
+        return productRepository.findAllDtos();
     }
 
+    /**
+     * Returns a tag that changes whenever a product is created, updated or deleted.
+     */
+    @Transactional(readOnly = true)
+    public String getProductsVersionTag() {
+        return productRepository.getVersionStamp().tag();
+    }
+
+    /**
+     * Products rarely change, so lookups by code are cached until the product is updated.
+     * Unknown codes are not cached.
+     */
+    @Cacheable(cacheNames = PRODUCTS_CACHE, key = "#code", unless = "#result == null")
     @Transactional(readOnly = true)
     public Optional<ProductDto> findProductByCode(String code) {
-        return productRepository.findByCode(code).map(productMapper::toDto);
+        return productRepository.findDtoByCode(code);
     }
 
     @Transactional
@@ -45,6 +60,7 @@ public class ProductService {
         return savedProduct.getId();
     }
 
+    @CacheEvict(cacheNames = PRODUCTS_CACHE, key = "#cmd.code()")
     @Transactional
     public void updateProduct(UpdateProductCommand cmd) {
         var product = productRepository
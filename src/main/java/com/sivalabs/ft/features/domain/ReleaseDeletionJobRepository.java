@@ -0,0 +1,40 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.domain.dtos.ReleaseDeletionJobDto;
+import com.sivalabs.ft.features.domain.entities.ReleaseDeletionJob;
+import com.sivalabs.ft.features.domain.models.JobStatus;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+interface ReleaseDeletionJobRepository extends JpaRepository<ReleaseDeletionJob, Long> {
+
+    @Query(
+            """
+            select new com.sivalabs.ft.features.domain.dtos.ReleaseDeletionJobDto(
+                j.id, j.releaseCode, j.status, j.totalFeatures, j.processedFeatures, j.error,
+                j.createdBy, j.createdAt, j.updatedAt)
+            from ReleaseDeletionJob j where j.id = :id
+            """)
+    Optional<ReleaseDeletionJobDto> findDtoById(Long id);
+
+    Optional<ReleaseDeletionJob> findFirstByReleaseCodeAndStatusOrderByIdDesc(String releaseCode, JobStatus status);
+
+    @Modifying
+    @Query(
+            """
+            update ReleaseDeletionJob j
+            set j.processedFeatures = j.processedFeatures + :count, j.updatedAt = :updatedAt
+            where j.id = :id
+            """)
+    void addProgress(Long id, long count, Instant updatedAt);
+
+    @Transactional
+    @Modifying
+    @Query(
+            "update ReleaseDeletionJob j set j.status = :status, j.error = :error, j.updatedAt = :updatedAt where j.id = :id")
+    void finish(Long id, JobStatus status, String error, Instant updatedAt);
+}
@@ -0,0 +1,176 @@
+package com.sivalabs.ft.features.domain;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.ReleasesProperties;
+import com.sivalabs.ft.features.domain.FeatureStatusCounts.Key;
+import com.sivalabs.ft.features.domain.dtos.ReleaseDeletionJobDto;
+import com.sivalabs.ft.features.domain.entities.ReleaseDeletionJob;
+import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import com.sivalabs.ft.features.domain.models.JobStatus;
+import io.micrometer.core.annotation.Timed;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes releases, in the background for releases with many features.
+ * <p>
+ * Small releases are deleted in the request transaction. For larger ones a job unassigns the features
+ * in chunks of ft.releases.deletion-chunk-size, each in its own short transaction, so row locks are held
+ * only briefly, then deletes the release. Progress is recorded in release_deletion_jobs after every chunk.
+ * Chunks are idempotent, so a job that died with its replica is simply restarted by the next delete request.
+ */
+@Service
+@Timed("ft.service")
+public class ReleaseDeletionService {
+    private static final Logger log = LoggerFactory.getLogger(ReleaseDeletionService.class);
+    private static final String UNASSIGN_CHUNK =
+            """
+            with unassigned as (
+                update features set release_id = null, version = version + 1
+                where id in (select id from features where release_id = ? order by id limit ?)
+                returning product_id, code, status
+            ), changes as (
+                insert into feature_changes (product_id, feature_code, change_type)
+                select product_id, code, 'UPDATED' from unassigned
+            )
+            select product_id, status, count(*) as feature_count from unassigned group by product_id, status
+            """;
+
+    private final ReleaseService releaseService;
+    private final ReleaseRepository releaseRepository;
+    private final ReleaseDeletionJobRepository jobRepository;
+    private final FeatureStatusCounts featureStatusCounts;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final ReleasesProperties properties;
+
+    ReleaseDeletionService(
+            ReleaseService releaseService,
+            ReleaseRepository releaseRepository,
+            ReleaseDeletionJobRepository jobRepository,
+            FeatureStatusCounts featureStatusCounts,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+            ApplicationProperties properties) {
+        this.releaseService = releaseService;
+        this.releaseRepository = releaseRepository;
+        this.jobRepository = jobRepository;
+        this.featureStatusCounts = featureStatusCounts;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.properties = properties.releases();
+    }
+
+    /**
+     * Deletes the release right away if it has at most one chunk of features, otherwise starts a deletion job
+     * (or returns the one already running for the release).
+     * The release row is locked while this is decided, so concurrent deletes of a release start one job only.
+     *
+     * @return the deletion job, empty if the release has been deleted
+     */
+    public Optional<ReleaseDeletionJobDto> deleteRelease(String code, String username) {
+        Long jobId = transactionTemplate.execute(status -> startDeletion(code, username));
+        return jobId == null ? Optional.empty() : jobRepository.findDtoById(jobId);
+    }
+
+    private Long startDeletion(String code, String username) {
+        // Read uncached: the cached release may already be gone or have a job started by another replica
+        Long releaseId = releaseRepository
+                .lockIdByCode(code)
+                .orElseThrow(() -> new ResourceNotFoundException("Release with code " + code + " not found"));
+        long featureCount = featureStatusCounts.countByReleaseId(releaseId).values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        if (featureCount <= properties.deletionChunkSize()) {
+            releaseService.deleteRelease(code);
+            return null;
+        }
+        Optional<ReleaseDeletionJob> running =
+                jobRepository.findFirstByReleaseCodeAndStatusOrderByIdDesc(code, JobStatus.RUNNING);
+        Instant now = Instant.now();
+        if (running.isPresent()) {
+            if (running.get().getUpdatedAt().isAfter(now.minus(properties.deletionJobStaleAfter()))) {
+                return running.get().getId();
+            }
+            // Its replica died, the chunks are idempotent so a new job picks up where it stopped
+            jobRepository.finish(running.get().getId(), JobStatus.FAILED, "Abandoned", now);
+        }
+        ReleaseDeletionJob job = jobRepository.save(newJob(code, featureCount, username));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                taskExecutor.execute(() -> run(job.getId(), releaseId, code));
+            }
+        });
+        return job.getId();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ReleaseDeletionJobDto> findJob(Long id) {
+        return jobRepository.findDtoById(id);
+    }
+
+    private static ReleaseDeletionJob newJob(String code, long featureCount, String username) {
+        var job = new ReleaseDeletionJob();
+        job.setReleaseCode(code);
+        job.setStatus(JobStatus.RUNNING);
+        job.setTotalFeatures(featureCount);
+        job.setProcessedFeatures(0L);
+        job.setCreatedBy(username);
+        job.setCreatedAt(Instant.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        return job;
+    }
+
+    private void run(Long jobId, Long releaseId, String code) {
+        try {
+            Integer unassigned;
+            do {
+                unassigned = transactionTemplate.execute(status -> unassignChunk(jobId, releaseId));
+            } while (unassigned != null && unassigned > 0);
+            // Also unassigns features added to the release since the last chunk
+            releaseService.deleteRelease(code);
+            jobRepository.finish(jobId, JobStatus.COMPLETED, null, Instant.now());
+            log.info("Deleted release {} in deletion job {}", code, jobId);
+        } catch (Exception e) {
+            log.error("Deletion job {} of release {} failed", jobId, code, e);
+            jobRepository.finish(jobId, JobStatus.FAILED, e.getMessage(), Instant.now());
+        }
+    }
+
+    private int unassignChunk(Long jobId, Long releaseId) {
+        List<Map<String, Object>> unassigned =
+                jdbcTemplate.queryForList(UNASSIGN_CHUNK, releaseId, properties.deletionChunkSize());
+        var deltas = new FeatureStatusCounts.Deltas();
+        int count = 0;
+        for (Map<String, Object> row : unassigned) {
+            long productId = ((Number) row.get("product_id")).longValue();
+            var status = FeatureStatus.valueOf((String) row.get("status"));
+            long featureCount = ((Number) row.get("feature_count")).longValue();
+            deltas.add(new Key(productId, releaseId, status), -featureCount);
+            deltas.add(new Key(productId, null, status), featureCount);
+            count += (int) featureCount;
+        }
+        featureStatusCounts.apply(deltas);
+        jobRepository.addProgress(jobId, count, Instant.now());
+        return count;
+    }
+}
@@ -1,18 +1,50 @@
 package com.sivalabs.ft.features.domain;
 
+import com.sivalabs.ft.features.domain.dtos.ReleaseDto;
 import com.sivalabs.ft.features.domain.entities.Release;
+import com.sivalabs.ft.features.domain.models.VersionStamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.jpa.repository.Query;
+
+interface ReleaseRepository extends JpaRepository<Release, Long> {
+    String RELEASE_DTO_SELECT =
+            """
+            select new com.sivalabs.ft.features.domain.dtos.ReleaseDto(
+                r.id, r.code, r.description, r.status, r.releasedAt,
+                r.createdBy, r.createdAt, r.updatedBy, r.updatedAt, r.version)
+            from Release r
+            """;
 
-interface ReleaseRepository extends ListCrudRepository<Release, Long> {
     Optional<Release> findByCode(String code);
 
-    List<Release> findByProductCode(String productCode);
+    List<Release> findByCodeIn(Collection<String> codes);
+
+    @Query(RELEASE_DTO_SELECT + "where r.code = :code")
+    Optional<ReleaseDto> findDtoByCode(String code);
+
+    @Query(RELEASE_DTO_SELECT + "where r.product.code = :productCode")
+    List<ReleaseDto> findDtosByProductCode(String productCode);
+
+    @Query(
+            """
+            select new com.sivalabs.ft.features.domain.models.VersionStamp(
+                count(r), coalesce(max(r.id), 0), coalesce(sum(r.version), 0))
+            from Release r where r.product.code = :productCode
+            """)
+    VersionStamp getVersionStampByProductCode(String productCode);
 
     @Modifying
     void deleteByCode(String code);
 
     boolean existsByCode(String code);
+
+    /**
+     * Locks the release until the end of the transaction, so that only one deletion of it can start at a time.
+     */
+    @Query(value = "select id from releases where code = :code for update", nativeQuery = true)
+    Optional<Long> lockIdByCode(String code);
 }
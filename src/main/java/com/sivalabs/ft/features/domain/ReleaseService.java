@@ -2,47 +2,68 @@ package com.sivalabs.ft.features.domain;
 
 import com.sivalabs.ft.features.domain.Commands.CreateReleaseCommand;
 import com.sivalabs.ft.features.domain.Commands.UpdateReleaseCommand;
+import com.sivalabs.ft.features.domain.dtos.ProductDto;
 import com.sivalabs.ft.features.domain.dtos.ReleaseDto;
-import com.sivalabs.ft.features.domain.entities.Product;
 import com.sivalabs.ft.features.domain.entities.Release;
 import com.sivalabs.ft.features.domain.exceptions.ResourceNotFoundException;
-import com.sivalabs.ft.features.domain.mappers.ReleaseMapper;
 import com.sivalabs.ft.features.domain.models.ReleaseStatus;
+import io.micrometer.core.annotation.Timed;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed("ft.service")
 public class ReleaseService {
     public static final String RELEASE_SEPARATOR = "-";
+    public static final String RELEASES_CACHE = "releases";
     private final ReleaseRepository releaseRepository;
     private final ProductRepository productRepository;
+    private final ProductService productService;
     private final FeatureRepository featureRepository;
-    private final ReleaseMapper releaseMapper;
+    private final FeatureStatusCounts featureStatusCounts;
+    private final FeatureChangeLog featureChangeLog;
 
     ReleaseService(
             ReleaseRepository releaseRepository,
             ProductRepository productRepository,
+            ProductService productService,
             FeatureRepository featureRepository,
-            ReleaseMapper releaseMapper) {
+            FeatureStatusCounts featureStatusCounts,
+            FeatureChangeLog featureChangeLog) {
         this.releaseRepository = releaseRepository;
         this.productRepository = productRepository;
+        this.productService = productService;
         this.featureRepository = featureRepository;
-        this.releaseMapper = releaseMapper;
+        this.featureStatusCounts = featureStatusCounts;
+        this.featureChangeLog = featureChangeLog;
     }
 
     @Transactional(readOnly = true)
     public List<ReleaseDto> findReleasesByProductCode(String productCode) {
-        return releaseRepository.findByProductCode(productCode).stream()
-                .map(releaseMapper::toDto)
-                .toList();
+        return releaseRepository.findDtosByProductCode(productCode);
     }
 
+    /**
+     * Returns a tag that changes whenever a release of the product is created, updated or deleted.
+     */
+    @Transactional(readOnly = true)
+    public String getReleasesVersionTagByProductCode(String productCode) {
+        return releaseRepository.getVersionStampByProductCode(productCode).tag();
+    }
+
+    /**
+     * Releases rarely change, so lookups by code are cached until the release is updated or deleted.
+     * Unknown codes are not cached.
+     */
+    @Cacheable(cacheNames = RELEASES_CACHE, key = "#code", unless = "#result == null")
     @Transactional(readOnly = true)
     public Optional<ReleaseDto> findReleaseByCode(String code) {
-        return releaseRepository.findByCode(code).map(releaseMapper::toDto);
+        return releaseRepository.findDtoByCode(code);
     }
 
     @Transactional(readOnly = true)
@@ -52,13 +73,13 @@ public class ReleaseService {
 
     @Transactional
     public String createRelease(CreateReleaseCommand cmd) {
-        Product product = productRepository.findByCode(cmd.productCode()).orElseThrow();
+        ProductDto product = productService.findProductByCode(cmd.productCode()).orElseThrow();
         String code = cmd.code();
-        if (!cmd.code().startsWith(product.getPrefix() + RELEASE_SEPARATOR)) {
-            code = product.getPrefix() + RELEASE_SEPARATOR + cmd.code();
+        if (!cmd.code().startsWith(product.prefix() + RELEASE_SEPARATOR)) {
+            code = product.prefix() + RELEASE_SEPARATOR + cmd.code();
         }
         Release release = new Release();
-        release.setProduct(product);
+        release.setProduct(productRepository.getReferenceById(product.id()));
         release.setCode(code);
         release.setDescription(cmd.description());
         release.setStatus(ReleaseStatus.DRAFT);
@@ -68,6 +89,7 @@ public class ReleaseService {
         return code;
     }
 
+    @CacheEvict(cacheNames = RELEASES_CACHE, key = "#cmd.code()")
     @Transactional
     public void updateRelease(UpdateReleaseCommand cmd) {
         Release release = releaseRepository.findByCode(cmd.code()).orElseThrow();
@@ -79,11 +101,14 @@ public class ReleaseService {
         releaseRepository.save(release);
     }
 
+    @CacheEvict(cacheNames = RELEASES_CACHE, key = "#code")
     @Transactional
     public void deleteRelease(String code) {
         if (!releaseRepository.existsByCode(code)) {
             throw new ResourceNotFoundException("Release with code " + code + " not found");
         }
+        featureStatusCounts.moveToNoRelease(code);
+        featureChangeLog.recordReleaseUnassigned(code);
         featureRepository.unsetRelease(code);
         releaseRepository.deleteByCode(code);
     }
@@ -1,3 +1,5 @@
 package com.sivalabs.ft.features.domain.dtos;
 
-public record CommentDto(Long id, String featureCode, String content, String createdBy) {}
+import java.time.Instant;
+
+public record CommentDto(Long id, String featureCode, String content, String createdBy, Instant createdAt) {}
@@ -0,0 +1,22 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+/**
+ * Outcome of a single item of a feature batch. {@code index} is the position of the item in the request.
+ */
+public record FeatureBatchResult(int index, String code, Status status, String error) {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        FAILED
+    }
+
+    public static FeatureBatchResult succeeded(int index, String code, Status status) {
+        return new FeatureBatchResult(index, code, status, null);
+    }
+
+    public static FeatureBatchResult failed(int index, String code, String error) {
+        return new FeatureBatchResult(index, code, Status.FAILED, error);
+    }
+}
@@ -0,0 +1,9 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+import com.sivalabs.ft.features.domain.models.FeatureChangeType;
+import java.time.Instant;
+
+/**
+ * The latest change of a feature. {@code feature} is its current state, null for deleted features.
+ */
+public record FeatureChangeDto(String code, FeatureChangeType type, Instant changedAt, FeatureDto feature) {}
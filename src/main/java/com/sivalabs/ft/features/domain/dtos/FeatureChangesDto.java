@@ -0,0 +1,9 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+import java.util.List;
+
+/**
+ * @param token pass as 'since' to get the changes after these
+ * @param hasMore whether more changes are available right away
+ */
+public record FeatureChangesDto(List<FeatureChangeDto> changes, String token, boolean hasMore) {}
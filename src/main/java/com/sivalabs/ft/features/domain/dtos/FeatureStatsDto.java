@@ -0,0 +1,12 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.util.Map;
+
+public record FeatureStatsDto(String code, long total, Map<FeatureStatus, Long> countsByStatus) {
+
+    public static FeatureStatsDto of(String code, Map<FeatureStatus, Long> countsByStatus) {
+        long total = countsByStatus.values().stream().mapToLong(Long::longValue).sum();
+        return new FeatureStatsDto(code, total, countsByStatus);
+    }
+}
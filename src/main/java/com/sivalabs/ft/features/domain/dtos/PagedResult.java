@@ -0,0 +1,10 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+import java.util.List;
+
+public record PagedResult<T>(List<T> content, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -8,4 +8,5 @@ public record ProductDto(
         String description,
         String imageUrl,
         Boolean disabled,
-        String createdBy) {}
+        String createdBy,
+        Long version) {}
@@ -0,0 +1,15 @@
+package com.sivalabs.ft.features.domain.dtos;
+
+import com.sivalabs.ft.features.domain.models.JobStatus;
+import java.time.Instant;
+
+public record ReleaseDeletionJobDto(
+        Long id,
+        String releaseCode,
+        JobStatus status,
+        Long totalFeatures,
+        Long processedFeatures,
+        String error,
+        String createdBy,
+        Instant createdAt,
+        Instant updatedAt) {}
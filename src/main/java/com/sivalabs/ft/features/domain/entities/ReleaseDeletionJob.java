@@ -0,0 +1,126 @@
+package com.sivalabs.ft.features.domain.entities;
+
+import com.sivalabs.ft.features.domain.models.JobStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.Instant;
+import org.hibernate.annotations.ColumnDefault;
+
+@Entity
+@Table(name = "release_deletion_jobs")
+public class ReleaseDeletionJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "release_deletion_jobs_id_gen")
+    @SequenceGenerator(name = "release_deletion_jobs_id_gen", sequenceName = "release_deletion_job_id_seq")
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Size(max = 50) @NotNull @Column(name = "release_code", nullable = false, length = 50)
+    private String releaseCode;
+
+    @NotNull @Column(name = "status", nullable = false, length = 50)
+    @Enumerated(EnumType.STRING)
+    private JobStatus status;
+
+    @NotNull @Column(name = "total_features", nullable = false)
+    private Long totalFeatures;
+
+    @NotNull @ColumnDefault("0")
+    @Column(name = "processed_features", nullable = false)
+    private Long processedFeatures;
+
+    @Column(name = "error", length = Integer.MAX_VALUE)
+    private String error;
+
+    @Size(max = 255) @NotNull @Column(name = "created_by", nullable = false)
+    private String createdBy;
+
+    @NotNull @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @NotNull @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getReleaseCode() {
+        return releaseCode;
+    }
+
+    public void setReleaseCode(String releaseCode) {
+        this.releaseCode = releaseCode;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public Long getTotalFeatures() {
+        return totalFeatures;
+    }
+
+    public void setTotalFeatures(Long totalFeatures) {
+        this.totalFeatures = totalFeatures;
+    }
+
+    public Long getProcessedFeatures() {
+        return processedFeatures;
+    }
+
+    public void setProcessedFeatures(Long processedFeatures) {
+        this.processedFeatures = processedFeatures;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
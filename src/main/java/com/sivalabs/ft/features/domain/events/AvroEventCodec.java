@@ -0,0 +1,203 @@
+package com.sivalabs.ft.features.domain.events;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * Avro binary encoding of the feature event records, with the schemas listed in
+ * {@code events/schema-registry.properties}.
+ * <p>
+ * An event is written with the latest schema of its record, which is named after the event class, and the
+ * schema id goes into the {@value #SCHEMA_ID_HEADER} header. Readers resolve the writer schema against their
+ * own latest schema, so older and newer producers and consumers keep understanding each other.
+ * Unlike the JSON encoding the payload carries neither field names nor type headers.
+ */
+public final class AvroEventCodec {
+    public static final String SCHEMA_ID_HEADER = "ft-schema-id";
+    private static final String REGISTRY = "events/schema-registry.properties";
+
+    private final Map<Integer, Schema> schemasById;
+    private final Map<String, Integer> latestSchemaIds = new HashMap<>();
+    private final Map<Class<?>, RecordMapping> mappings = new ConcurrentHashMap<>();
+
+    AvroEventCodec(Map<Integer, Schema> schemasById) {
+        this.schemasById = Map.copyOf(schemasById);
+        schemasById.forEach((id, schema) -> latestSchemaIds.merge(schema.getFullName(), id, Math::max));
+    }
+
+    public static AvroEventCodec fromRegistry() {
+        Properties registry = load(REGISTRY, Properties.class);
+        Map<Integer, Schema> schemas = new HashMap<>();
+        registry.forEach((id, file) -> schemas.put(
+                Integer.valueOf(id.toString().trim()), new Schema.Parser().parse(load(file.toString(), String.class))));
+        return new AvroEventCodec(schemas);
+    }
+
+    public boolean supports(Class<?> eventType) {
+        return latestSchemaIds.containsKey(eventType.getName());
+    }
+
+    public byte[] encode(Object event, Headers headers) {
+        RecordMapping mapping = mappings.computeIfAbsent(event.getClass(), this::latestMapping);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+            mapping.writer.write(mapping.toRecord(event), encoder);
+            headers.remove(SCHEMA_ID_HEADER);
+            headers.add(SCHEMA_ID_HEADER, String.valueOf(mapping.schemaId).getBytes(StandardCharsets.US_ASCII));
+            return out.toByteArray();
+        } catch (IOException | ReflectiveOperationException | RuntimeException e) {
+            throw new SerializationException("Failed to encode " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+    public Object decode(byte[] data, Header schemaIdHeader) {
+        int schemaId = Integer.parseInt(new String(schemaIdHeader.value(), StandardCharsets.US_ASCII));
+        Schema writerSchema = schemasById.get(schemaId);
+        if (writerSchema == null) {
+            throw new SerializationException("Unknown event schema id " + schemaId);
+        }
+        try {
+            Class<?> eventType =
+                    Class.forName(writerSchema.getFullName(), true, AvroEventCodec.class.getClassLoader());
+            RecordMapping mapping = mappings.computeIfAbsent(eventType, this::latestMapping);
+            var reader = new GenericDatumReader<GenericRecord>(writerSchema, mapping.schema);
+            return mapping.fromRecord(reader.read(null, DecoderFactory.get().binaryDecoder(data, null)));
+        } catch (IOException | ReflectiveOperationException | RuntimeException e) {
+            throw new SerializationException("Failed to decode event with schema id " + schemaId, e);
+        }
+    }
+
+    private RecordMapping latestMapping(Class<?> eventType) {
+        Integer schemaId = latestSchemaIds.get(eventType.getName());
+        if (schemaId == null) {
+            throw new IllegalArgumentException("No event schema for " + eventType.getName());
+        }
+        return new RecordMapping(eventType, schemaId, schemasById.get(schemaId));
+    }
+
+    private static <T> T load(String resource, Class<T> type) {
+        try (InputStream in = AvroEventCodec.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + resource);
+            }
+            if (type == Properties.class) {
+                Properties properties = new Properties();
+                properties.load(in);
+                return type.cast(properties);
+            }
+            return type.cast(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps the components of an event record to the fields of a schema by name.
+     * Components without a field are not written, and read back as null.
+     */
+    private static final class RecordMapping {
+        final int schemaId;
+        final Schema schema;
+        final GenericDatumWriter<GenericRecord> writer;
+        final RecordComponent[] components;
+        final Schema.Field[] fields;
+        final Constructor<?> constructor;
+
+        RecordMapping(Class<?> eventType, int schemaId, Schema schema) {
+            this.schemaId = schemaId;
+            this.schema = schema;
+            this.writer = new GenericDatumWriter<>(schema);
+            this.components = eventType.getRecordComponents();
+            this.fields = Arrays.stream(components)
+                    .map(component -> schema.getField(component.getName()))
+                    .toArray(Schema.Field[]::new);
+            try {
+                this.constructor = eventType.getDeclaredConstructor(Arrays.stream(components)
+                        .map(RecordComponent::getType)
+                        .toArray(Class<?>[]::new));
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException(eventType.getName() + " is not a record", e);
+            }
+        }
+
+        GenericRecord toRecord(Object event) throws ReflectiveOperationException {
+            GenericRecord record = new GenericData.Record(schema);
+            for (int i = 0; i < components.length; i++) {
+                if (fields[i] != null) {
+                    record.put(fields[i].pos(), toAvro(components[i].getAccessor().invoke(event), fields[i]));
+                }
+            }
+            return record;
+        }
+
+        Object fromRecord(GenericRecord record) throws ReflectiveOperationException {
+            Object[] args = new Object[components.length];
+            for (int i = 0; i < components.length; i++) {
+                if (fields[i] != null) {
+                    args[i] = fromAvro(record.get(fields[i].pos()), components[i].getType());
+                }
+            }
+            return constructor.newInstance(args);
+        }
+
+        private static Object toAvro(Object value, Schema.Field field) {
+            return switch (value) {
+                case null -> null;
+                case Instant instant -> ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+                case Enum<?> constant -> new GenericData.EnumSymbol(nonNull(field.schema()), constant.name());
+                default -> value;
+            };
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Object fromAvro(Object value, Class<?> type) {
+            if (value == null) {
+                return null;
+            }
+            if (type == Instant.class) {
+                return Instant.EPOCH.plus((Long) value, ChronoUnit.MICROS);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<Enum>) type, value.toString());
+            }
+            if (type == String.class) {
+                return value.toString();
+            }
+            return value;
+        }
+
+        private static Schema nonNull(Schema schema) {
+            if (schema.getType() != Schema.Type.UNION) {
+                return schema;
+            }
+            return schema.getTypes().stream()
+                    .filter(type -> type.getType() != Schema.Type.NULL)
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+}
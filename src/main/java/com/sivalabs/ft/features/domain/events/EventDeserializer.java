@@ -0,0 +1,49 @@
+package com.sivalabs.ft.features.domain.events;
+
+import java.util.Map;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+/**
+ * Reads events in either {@link EventFormat}: records with a schema id header are Avro, all others JSON.
+ * Consumers switch to this deserializer before a topic's producers switch to Avro.
+ */
+public class EventDeserializer implements Deserializer<Object> {
+    private final AvroEventCodec avro;
+    private final JsonDeserializer<Object> json;
+
+    public EventDeserializer() {
+        this(AvroEventCodec.fromRegistry(), new JsonDeserializer<>());
+    }
+
+    public EventDeserializer(AvroEventCodec avro, JsonDeserializer<Object> json) {
+        this.avro = avro;
+        this.json = json;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return json.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        Header schemaId = headers.lastHeader(AvroEventCodec.SCHEMA_ID_HEADER);
+        if (schemaId != null && data != null) {
+            return avro.decode(data, schemaId);
+        }
+        return json.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+}
@@ -0,0 +1,15 @@
+package com.sivalabs.ft.features.domain.events;
+
+/**
+ * Wire format of the events published to a topic.
+ */
+public enum EventFormat {
+    /**
+     * JSON with Spring Kafka type headers, readable by every existing consumer.
+     */
+    JSON,
+    /**
+     * Compact Avro binary, see {@link AvroEventCodec}.
+     */
+    AVRO
+}
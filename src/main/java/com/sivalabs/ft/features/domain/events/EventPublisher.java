@@ -1,22 +1,157 @@
 package com.sivalabs.ft.features.domain.events;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sivalabs.ft.features.ApplicationProperties;
 import com.sivalabs.ft.features.domain.entities.Feature;
+import com.sivalabs.ft.features.domain.entities.OutboxEvent;
+import com.sivalabs.ft.features.domain.events.OutboxEventRepository.PendingEvent;
+import io.micrometer.core.annotation.Timed;
 import java.time.Instant;
-import org.springframework.kafka.core.KafkaTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Records feature events in the outbox table as part of the caller's transaction.
+ * {@link OutboxRelay} delivers them to Kafka once the transaction has committed.
+ * <p>
+ * With ft.events.coalesce-window set, an update of a feature that still has an update event waiting in the
+ * outbox replaces that event's payload instead of adding another event, and deleting a feature drops its
+ * waiting update. The relay holds update events back for the window, so a burst of edits is sent as one
+ * event with the final state.
+ */
 @Component
+@Timed("ft.events.publish")
 public class EventPublisher {
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
     private final ApplicationProperties properties;
+    private final JdbcTemplate jdbcTemplate;
 
-    public EventPublisher(KafkaTemplate<String, Object> kafkaTemplate, ApplicationProperties properties) {
-        this.kafkaTemplate = kafkaTemplate;
+    public EventPublisher(
+            OutboxEventRepository outboxEventRepository,
+            ObjectMapper objectMapper,
+            ApplicationProperties properties,
+            JdbcTemplate jdbcTemplate) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
         this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
+    @Transactional(propagation = Propagation.MANDATORY)
     public void publishFeatureCreatedEvent(Feature feature) {
+        outboxEventRepository.save(toCreatedEvent(feature));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishFeatureUpdatedEvent(Feature feature) {
+        OutboxEvent event = toUpdatedEvent(feature);
+        if (!coalescing() || !replacePending(event)) {
+            outboxEventRepository.save(event);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishFeatureDeletedEvent(Feature feature, String deletedBy, Instant deletedAt) {
+        if (coalescing()) {
+            dropPendingUpdates(List.of(feature.getCode()));
+        }
+        outboxEventRepository.save(toDeletedEvent(feature, deletedBy, deletedAt));
+    }
+
+    /**
+     * Records the events of a feature batch with one JDBC batch insert instead of one insert per event.
+     * Ids still come from the outbox sequence, so the events are relayed in the order given here.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishFeatureBatchEvents(
+            List<Feature> created, List<Feature> updated, List<Feature> deleted, String deletedBy, Instant deletedAt) {
+        List<OutboxEvent> events = new ArrayList<>(created.size() + updated.size() + deleted.size());
+        created.forEach(feature -> events.add(toCreatedEvent(feature)));
+        List<OutboxEvent> updates = updated.stream().map(this::toUpdatedEvent).toList();
+        if (coalescing()) {
+            updates = replacePending(updates);
+            if (!deleted.isEmpty()) {
+                dropPendingUpdates(deleted.stream().map(Feature::getCode).toList());
+            }
+        }
+        events.addAll(updates);
+        deleted.forEach(feature -> events.add(toDeletedEvent(feature, deletedBy, deletedAt)));
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = events.stream()
+                .map(e -> new Object[] {e.getAggregateKey(), e.getTopic(), e.getEventType(), e.getPayload()})
+                .toList();
+        jdbcTemplate.batchUpdate(
+                "insert into outbox_events (aggregate_key, topic, event_type, payload) values (?, ?, ?, ?)", rows);
+    }
+
+    private boolean coalescing() {
+        return properties.events().coalesceWindow().isPositive();
+    }
+
+    /**
+     * Replaces the payload of the feature's update event still waiting in the outbox.
+     * Returns false if there is none, also when the relay is sending it right now: its row is locked
+     * and skipped instead of waited for, so the caller inserts a new event that is relayed after it.
+     */
+    private boolean replacePending(OutboxEvent event) {
+        return replacePending(List.of(event)).isEmpty();
+    }
+
+    /**
+     * Batch variant of {@link #replacePending(OutboxEvent)}, returns the events that have to be inserted.
+     */
+    private List<OutboxEvent> replacePending(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return events;
+        }
+        Map<String, List<Long>> pendingIds = lockPendingUpdates(
+                        events.stream().map(OutboxEvent::getAggregateKey).toList())
+                .stream()
+                .collect(Collectors.groupingBy(
+                        PendingEvent::getAggregateKey, Collectors.mapping(PendingEvent::getId, Collectors.toList())));
+        List<Object[]> updates = new ArrayList<>();
+        List<OutboxEvent> remaining = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            List<Long> ids = pendingIds.get(event.getAggregateKey());
+            if (ids == null) {
+                remaining.add(event);
+            } else {
+                ids.forEach(id -> updates.add(new Object[] {event.getPayload(), id}));
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("update outbox_events set payload = ? where id = ?", updates);
+        }
+        return remaining;
+    }
+
+    /**
+     * Drops the pending update events of the features, except those the relay is sending right now.
+     */
+    private void dropPendingUpdates(List<String> codes) {
+        List<Long> ids =
+                lockPendingUpdates(codes).stream().map(PendingEvent::getId).toList();
+        if (!ids.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(ids);
+        }
+    }
+
+    private List<PendingEvent> lockPendingUpdates(List<String> codes) {
+        return outboxEventRepository.lockPending(
+                properties.events().updatedFeatures(), codes, FeatureUpdatedEvent.class.getName());
+    }
+
+    private OutboxEvent toCreatedEvent(Feature feature) {
         FeatureCreatedEvent event = new FeatureCreatedEvent(
                 feature.getId(),
                 feature.getCode(),
@@ -27,10 +162,10 @@ public class EventPublisher {
                 feature.getAssignedTo(),
                 feature.getCreatedBy(),
                 feature.getCreatedAt());
-        kafkaTemplate.send(properties.events().newFeatures(), event);
+        return toOutboxEvent(properties.events().newFeatures(), feature.getCode(), event);
     }
 
-    public void publishFeatureUpdatedEvent(Feature feature) {
+    private OutboxEvent toUpdatedEvent(Feature feature) {
         FeatureUpdatedEvent event = new FeatureUpdatedEvent(
                 feature.getId(),
                 feature.getCode(),
@@ -43,10 +178,10 @@ public class EventPublisher {
                 feature.getCreatedAt(),
                 feature.getUpdatedBy(),
                 feature.getUpdatedAt());
-        kafkaTemplate.send(properties.events().updatedFeatures(), event);
+        return toOutboxEvent(properties.events().updatedFeatures(), feature.getCode(), event);
     }
 
-    public void publishFeatureDeletedEvent(Feature feature, String deletedBy, Instant deletedAt) {
+    private OutboxEvent toDeletedEvent(Feature feature, String deletedBy, Instant deletedAt) {
         FeatureDeletedEvent event = new FeatureDeletedEvent(
                 feature.getId(),
                 feature.getCode(),
@@ -61,6 +196,16 @@ public class EventPublisher {
                 feature.getUpdatedAt(),
                 deletedBy,
                 deletedAt);
-        kafkaTemplate.send(properties.events().deletedFeatures(), event);
+        return toOutboxEvent(properties.events().deletedFeatures(), feature.getCode(), event);
+    }
+
+    private OutboxEvent toOutboxEvent(String topic, String key, Object event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            return new OutboxEvent(key, topic, event.getClass().getName(), payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                    "Failed to serialize " + event.getClass().getSimpleName(), e);
+        }
     }
 }
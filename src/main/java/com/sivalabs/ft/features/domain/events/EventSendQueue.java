@@ -0,0 +1,209 @@
+package com.sivalabs.ft.features.domain.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.SendQueueProperties;
+import com.sivalabs.ft.features.domain.entities.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends Kafka messages that don't need the outbox's transactional guarantees, such as cache invalidations,
+ * without blocking the caller on the producer.
+ * <p>
+ * {@link #send} only puts the message into a bounded queue; a single sender thread hands it to Kafka, so a full
+ * producer buffer or an unreachable broker stalls that thread instead of request threads. When the queue is full
+ * the configured {@link OverflowPolicy} applies. Failed sends are retried with exponential backoff up to
+ * ft.events.send-queue.max-attempts times.
+ * <p>
+ * Metrics: ft.events.send (time from enqueue to Kafka ack, tagged by topic and outcome),
+ * ft.events.send.failures, ft.events.send.retries, ft.events.queue.size and ft.events.queue.overflow
+ * (tagged by the policy that applied).
+ */
+@Component
+public class EventSendQueue implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(EventSendQueue.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final SendQueueProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<Message> queue;
+    private final ScheduledExecutorService retryScheduler;
+    private final Counter retries;
+    private volatile Thread sender;
+
+    EventSendQueue(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            OutboxEventRepository outboxEventRepository,
+            ObjectMapper objectMapper,
+            ApplicationProperties properties,
+            MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties.events().sendQueue();
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(this.properties.capacity());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("event-send-retry").daemon().factory());
+        this.retries = meterRegistry.counter("ft.events.send.retries");
+        Gauge.builder("ft.events.queue.size", queue, BlockingQueue::size)
+                .description("Messages waiting to be handed to Kafka")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the message for sending. Returns immediately, except with {@link OverflowPolicy#BLOCK}
+     * on a full queue, and never throws because of Kafka.
+     */
+    public void send(String topic, String key, Object value) {
+        var message = new Message(topic, key, value, System.nanoTime());
+        if (queue.offer(message)) {
+            return;
+        }
+        switch (properties.overflow()) {
+            case BLOCK -> {
+                if (!offerWithin(message, properties.blockTimeout())) {
+                    overflow(OverflowPolicy.SHED, message);
+                }
+            }
+            case SHED -> overflow(OverflowPolicy.SHED, message);
+            case SPILL -> spill(message);
+        }
+    }
+
+    private boolean offerWithin(Message message, Duration timeout) {
+        try {
+            return queue.offer(message, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void spill(Message message) {
+        try {
+            String payload = objectMapper.writeValueAsString(message.value());
+            outboxEventRepository.save(new OutboxEvent(
+                    Objects.requireNonNullElse(message.key(), ""),
+                    message.topic(),
+                    message.value().getClass().getName(),
+                    payload));
+            overflow(OverflowPolicy.SPILL, message);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to spill message for {} to the outbox", message.topic(), e);
+            overflow(OverflowPolicy.SHED, message);
+        }
+    }
+
+    private void overflow(OverflowPolicy policy, Message message) {
+        meterRegistry
+                .counter("ft.events.queue.overflow", "topic", message.topic(), "policy", policy.name())
+                .increment();
+        if (policy == OverflowPolicy.SHED) {
+            log.warn("Send queue full, dropped message for {}", message.topic());
+        }
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                deliver(queue.take(), 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void deliver(Message message, int attempt) {
+        try {
+            kafkaTemplate
+                    .send(message.topic(), message.key(), message.value())
+                    .whenComplete((result, failure) -> onComplete(message, attempt, failure));
+        } catch (RuntimeException e) {
+            // send() itself throws when the producer couldn't take the message within max.block.ms
+            onComplete(message, attempt, e);
+        }
+    }
+
+    private void onComplete(Message message, int attempt, Throwable failure) {
+        if (failure != null && attempt < properties.maxAttempts() && scheduleRetry(message, attempt)) {
+            return;
+        }
+        String outcome = failure == null ? "success" : "failure";
+        Timer.builder("ft.events.send")
+                .description("Time until Kafka acknowledged an event")
+                .tag("topic", message.topic())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - message.enqueuedAt(), TimeUnit.NANOSECONDS);
+        if (failure != null) {
+            meterRegistry
+                    .counter("ft.events.send.failures", "topic", message.topic())
+                    .increment();
+            log.warn("Giving up on message for {} after {} attempts", message.topic(), attempt, failure);
+        }
+    }
+
+    private boolean scheduleRetry(Message message, int attempt) {
+        try {
+            retryScheduler.schedule(
+                    () -> deliver(message, attempt + 1), backoff(attempt).toMillis(), TimeUnit.MILLISECONDS);
+            retries.increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            return false;
+        }
+    }
+
+    private Duration backoff(int attempt) {
+        Duration backoff = properties.retryBackoff().multipliedBy(1L << Math.min(attempt - 1, 20));
+        return backoff.compareTo(properties.maxRetryBackoff()) > 0 ? properties.maxRetryBackoff() : backoff;
+    }
+
+    @Override
+    public void start() {
+        sender = Thread.ofPlatform().name("event-sender").daemon().start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = sender;
+        sender = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        retryScheduler.shutdown();
+        // Hand what is still queued to the producer, which flushes it when it is closed
+        Message message;
+        while ((message = queue.poll()) != null) {
+            deliver(message, properties.maxAttempts());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return sender != null;
+    }
+
+    private record Message(String topic, String key, Object value, long enqueuedAt) {}
+}
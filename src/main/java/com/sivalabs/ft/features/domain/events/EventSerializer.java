@@ -0,0 +1,48 @@
+package com.sivalabs.ft.features.domain.events;
+
+import java.util.Map;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Writes the events of each topic in the {@link EventFormat} configured for it, JSON by default.
+ * Values without an Avro schema, like cache invalidations, are always written as JSON.
+ */
+public class EventSerializer implements Serializer<Object> {
+    private final Map<String, EventFormat> formats;
+    private final AvroEventCodec avro;
+    private final JsonSerializer<Object> json;
+
+    public EventSerializer(Map<String, EventFormat> formats, AvroEventCodec avro, JsonSerializer<Object> json) {
+        this.formats = Map.copyOf(formats);
+        this.avro = avro;
+        this.json = json;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        // Without headers there is nowhere to put the schema id
+        return json.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data != null
+                && formats.getOrDefault(topic, EventFormat.JSON) == EventFormat.AVRO
+                && avro.supports(data.getClass())) {
+            return avro.encode(data, headers);
+        }
+        return json.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+}
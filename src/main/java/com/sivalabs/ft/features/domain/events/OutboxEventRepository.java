@@ -0,0 +1,55 @@
+package com.sivalabs.ft.features.domain.events;
+
+import com.sivalabs.ft.features.domain.entities.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * The oldest events, except those of type {@code heldType} created after {@code heldUntil}.
+     * Rows are locked until the relay deleted them, so that an event can't be changed while it is being sent;
+     * rows locked by a writer replacing their payload are skipped (lock timeout -2 is SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query(
+            """
+            select e from OutboxEvent e
+            where e.eventType <> :heldType or e.createdAt <= :heldUntil
+            order by e.id
+            """)
+    List<OutboxEvent> findRelayable(String heldType, Instant heldUntil, Limit limit);
+
+    @Query(value = "select pg_try_advisory_xact_lock(:lockId)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(long lockId);
+
+    /**
+     * The pending events of the given type for the keys, locked for the caller's transaction.
+     * Events locked by someone else, in particular those the relay is sending right now, are skipped
+     * rather than waited for.
+     */
+    @Query(
+            value =
+                    """
+                    select id, aggregate_key as aggregateKey from outbox_events
+                    where topic = :topic and aggregate_key in :keys and event_type = :eventType
+                    for update skip locked
+                    """,
+            nativeQuery = true)
+    List<PendingEvent> lockPending(String topic, Collection<String> keys, String eventType);
+
+    interface PendingEvent {
+        Long getId();
+
+        String getAggregateKey();
+    }
+}
@@ -0,0 +1,160 @@
+package com.sivalabs.ft.features.domain.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.OutboxProperties;
+import com.sivalabs.ft.features.domain.entities.OutboxEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains the outbox table to Kafka.
+ * <p>
+ * Events are read in insertion order and sent keyed by feature code, so all events of a feature
+ * land on the same partition in the order they were written. A transaction scoped advisory lock
+ * makes sure only one replica drains the outbox at a time, which keeps that ordering across replicas.
+ * Rows are deleted only after Kafka acknowledged the whole batch, so delivery is at-least-once.
+ * After a failed batch the relay backs off exponentially, up to ft.events.outbox.max-retry-backoff.
+ * ft.events.outbox.lag tells how long the oldest undelivered event has been waiting.
+ */
+@Component
+class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final long RELAY_LOCK_ID = 4_711_001L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final Duration coalesceWindow;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private volatile int consecutiveFailures;
+    private volatile long retryAt;
+
+    OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            ApplicationProperties properties,
+            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties.events().outbox();
+        this.coalesceWindow = properties.events().coalesceWindow();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("ft.events.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Seconds the oldest undelivered outbox event has been waiting")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ft.events.outbox.poll-interval:500ms}")
+    void relay() {
+        if (consecutiveFailures > 0 && System.nanoTime() - retryAt < 0) {
+            return;
+        }
+        try {
+            int relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed == properties.batchSize());
+            consecutiveFailures = 0;
+        } catch (Exception e) {
+            Duration backoff = backoff(++consecutiveFailures);
+            retryAt = System.nanoTime() + backoff.toNanos();
+            log.warn("Failed to relay outbox events, retrying in {}", backoff, e);
+        }
+    }
+
+    private Duration backoff(int failures) {
+        Duration backoff = properties.retryBackoff().multipliedBy(1L << Math.min(failures - 1, 20));
+        return backoff.compareTo(properties.maxRetryBackoff()) > 0 ? properties.maxRetryBackoff() : backoff;
+    }
+
+    private int relayBatch() {
+        if (!outboxEventRepository.tryAdvisoryXactLock(RELAY_LOCK_ID)) {
+            return 0;
+        }
+        // Updates are held back for the coalescing window, during which later updates replace their payload
+        List<OutboxEvent> events = outboxEventRepository.findRelayable(
+                FeatureUpdatedEvent.class.getName(),
+                Instant.now().minus(coalesceWindow),
+                Limit.of(properties.batchSize()));
+        if (events.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Math.max(
+                0, Duration.between(events.getFirst().getCreatedAt(), Instant.now()).toMillis()));
+        CompletableFuture<?>[] futures = events.stream().map(this::send).toArray(CompletableFuture[]::new);
+        awaitAcks(futures);
+        outboxEventRepository.deleteAllByIdInBatch(
+                events.stream().map(OutboxEvent::getId).toList());
+        log.debug("Relayed {} outbox events", events.size());
+        return events.size();
+    }
+
+    /**
+     * Sends the event and records the time until Kafka acknowledged it, tagged by topic and outcome.
+     */
+    private CompletableFuture<?> send(OutboxEvent event) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return kafkaTemplate
+                .send(event.getTopic(), event.getAggregateKey(), toEvent(event))
+                .whenComplete((result, failure) -> {
+                    String outcome = failure == null ? "success" : "failure";
+                    sample.stop(Timer.builder("ft.events.send")
+                            .description("Time until Kafka acknowledged an outbox event")
+                            .tag("topic", event.getTopic())
+                            .tag("outcome", outcome)
+                            .register(meterRegistry));
+                    if (failure != null) {
+                        meterRegistry
+                                .counter("ft.events.send.failures", "topic", event.getTopic())
+                                .increment();
+                    }
+                });
+    }
+
+    private void awaitAcks(CompletableFuture<?>[] futures) {
+        try {
+            CompletableFuture.allOf(futures).get(properties.sendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Kafka acks", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to publish outbox events", e);
+        }
+    }
+
+    private Object toEvent(OutboxEvent outboxEvent) {
+        try {
+            Class<?> eventType = Class.forName(outboxEvent.getEventType());
+            return objectMapper.readValue(outboxEvent.getPayload(), eventType);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to deserialize outbox event " + outboxEvent.getId(), e);
+        }
+    }
+}
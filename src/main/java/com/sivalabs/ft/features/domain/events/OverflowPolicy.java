@@ -0,0 +1,20 @@
+package com.sivalabs.ft.features.domain.events;
+
+/**
+ * What {@link EventSendQueue#send} does when the queue is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Wait up to ft.events.send-queue.block-timeout for space, then shed the message.
+     */
+    BLOCK,
+    /**
+     * Drop the message right away.
+     */
+    SHED,
+    /**
+     * Write the message to the outbox table, from where {@link OutboxRelay} delivers it.
+     * Nothing is lost, but the message may overtake or be overtaken by queued ones.
+     */
+    SPILL
+}
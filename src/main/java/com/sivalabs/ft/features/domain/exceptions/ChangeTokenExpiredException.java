@@ -0,0 +1,7 @@
+package com.sivalabs.ft.features.domain.exceptions;
+
+public class ChangeTokenExpiredException extends RuntimeException {
+    public ChangeTokenExpiredException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +0,0 @@
-package com.sivalabs.ft.features.domain.mappers;
-
-import com.sivalabs.ft.features.domain.dtos.CommentDto;
-import com.sivalabs.ft.features.domain.entities.Comment;
-import org.mapstruct.Mapper;
-import org.mapstruct.Mapping;
-
-@Mapper(componentModel = "spring")
-public interface CommentMapper {
-    @Mapping(target = "featureCode", source = "feature.code", defaultExpression = "java( null )")
-    CommentDto toDto(Comment comment);
-}
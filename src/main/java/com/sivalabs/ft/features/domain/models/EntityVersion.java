@@ -0,0 +1,3 @@
+package com.sivalabs.ft.features.domain.models;
+
+public record EntityVersion(Long id, Long version) {}
@@ -0,0 +1,7 @@
+package com.sivalabs.ft.features.domain.models;
+
+/**
+ * Full-text query over feature titles and descriptions, optionally narrowed to a product, release or status.
+ * The query uses web search syntax: quoted phrases, "or" and "-" to exclude words.
+ */
+public record FeatureSearchCriteria(String query, String productCode, String releaseCode, FeatureStatus status) {}
@@ -0,0 +1,7 @@
+package com.sivalabs.ft.features.domain.models;
+
+public enum JobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
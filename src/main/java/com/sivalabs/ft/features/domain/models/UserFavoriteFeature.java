@@ -1,3 +0,0 @@
-package com.sivalabs.ft.features.domain.models;
-
-public record UserFavoriteFeature(Long id, String code, boolean isFavorite) {}
@@ -0,0 +1,16 @@
+package com.sivalabs.ft.features.domain.models;
+
+/**
+ * Summary of the versions of a set of rows, used as the ETag of list responses.
+ * Rows only ever get higher versions and ids only grow, so any insert, update or delete
+ * changes at least one of the components, as long as rows only enter or leave the set by being
+ * inserted or deleted. It doesn't hold for sets rows move in and out of, like the features of a release:
+ * one row leaving and another entering with a version one higher than the leaving row's keeps all three
+ * components equal. Such sets need a digest of their (id, version) pairs instead.
+ */
+public record VersionStamp(Long count, Long maxId, Long versionSum) {
+
+    public String tag() {
+        return count + "-" + maxId + "-" + versionSum;
+    }
+}
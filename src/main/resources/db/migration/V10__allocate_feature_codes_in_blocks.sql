@@ -0,0 +1,3 @@
+-- Feature code numbers are reserved in blocks of 50 (see FeatureCodeAllocator).
+-- Each nextval after this reserves [value, value + 50); values below the first one are never reused.
+alter sequence feature_code_seq increment by 50;
@@ -0,0 +1,17 @@
+-- Number of features per product, release and status, maintained by the application on every feature write
+-- so that stats are read from a handful of rows. release_id is null for features without a release.
+create table feature_status_counts
+(
+    product_id    bigint      not null references products (id),
+    release_id    bigint references releases (id),
+    status        varchar(50) not null,
+    feature_count bigint      not null,
+    constraint uk_feature_status_counts unique nulls not distinct (product_id, release_id, status)
+);
+
+create index idx_feature_status_counts_release_id on feature_status_counts (release_id);
+
+insert into feature_status_counts (product_id, release_id, status, feature_count)
+select product_id, release_id, status, count(*)
+from features
+group by product_id, release_id, status;
@@ -0,0 +1,18 @@
+create sequence release_deletion_job_id_seq start with 1 increment by 50;
+
+-- Progress of releases deleted in the background, see ReleaseDeletionService
+create table release_deletion_jobs
+(
+    id                 bigint       not null default nextval('release_deletion_job_id_seq'),
+    release_code       varchar(50)  not null,
+    status             varchar(50)  not null,
+    total_features     bigint       not null,
+    processed_features bigint       not null default 0,
+    error              text,
+    created_by         varchar(255) not null,
+    created_at         timestamp    not null default current_timestamp,
+    updated_at         timestamp    not null default current_timestamp,
+    primary key (id)
+);
+
+create index idx_release_deletion_jobs_release_code on release_deletion_jobs (release_code);
@@ -0,0 +1,6 @@
+-- Pending update events are looked up by feature code to coalesce rapid updates (see EventPublisher).
+-- Partial, so that the other outbox rows don't pay for the index.
+-- Built concurrently, in its own migration, so it doesn't block the outbox inserts of every write (see V6).
+-- No "if not exists", so that an INVALID index left by a failed build fails the migration.
+create index concurrently idx_outbox_events_pending_updates on outbox_events (aggregate_key)
+    where event_type = 'com.sivalabs.ft.features.domain.events.FeatureUpdatedEvent';
@@ -0,0 +1,17 @@
+create sequence feature_change_id_seq start with 1 increment by 1;
+
+-- Append-only log of feature creates, updates and deletes, read by the change feed (see FeatureChangeLog).
+-- tx_id orders the feed: a change is served only once every transaction that could precede it has finished.
+create table feature_changes
+(
+    id           bigint      not null default nextval('feature_change_id_seq'),
+    product_id   bigint      not null,
+    feature_code varchar(50) not null,
+    change_type  varchar(50) not null,
+    changed_at   timestamp   not null default current_timestamp,
+    tx_id        xid8        not null default pg_current_xact_id(),
+    primary key (id)
+);
+
+create index idx_feature_changes_product_id on feature_changes (product_id, tx_id, id);
+create index idx_feature_changes_changed_at on feature_changes (changed_at);
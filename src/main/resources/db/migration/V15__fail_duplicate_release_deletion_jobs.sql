@@ -0,0 +1,7 @@
+-- Concurrent deletes of a release could each start a job. Keep the newest running job of a release
+-- and fail the others, so that V16 can enforce one running job per release.
+update release_deletion_jobs j
+set status = 'FAILED', error = 'Duplicate', updated_at = current_timestamp
+where status = 'RUNNING'
+  and exists (select 1 from release_deletion_jobs o
+              where o.release_code = j.release_code and o.status = 'RUNNING' and o.id > j.id);
@@ -0,0 +1,4 @@
+-- At most one running deletion job per release, see ReleaseDeletionService.
+-- Built concurrently, in its own migration, so it doesn't block the jobs' progress updates (see V6).
+create unique index concurrently idx_release_deletion_jobs_running on release_deletion_jobs (release_code)
+    where status = 'RUNNING';
@@ -0,0 +1,13 @@
+-- increment by 1: ids must follow insertion order so the relay preserves per-feature event ordering
+create sequence outbox_event_id_seq start with 1 increment by 1;
+
+create table outbox_events
+(
+    id            bigint       not null default nextval('outbox_event_id_seq'),
+    aggregate_key varchar(50)  not null,
+    topic         varchar(255) not null,
+    event_type    varchar(255) not null,
+    payload       text         not null,
+    created_at    timestamp    not null default current_timestamp,
+    primary key (id)
+);
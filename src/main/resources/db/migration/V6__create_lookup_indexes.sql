@@ -0,0 +1,10 @@
+-- Built concurrently so the migration doesn't block writes on large tables.
+-- No "if not exists": a failed concurrent build leaves an INVALID index behind, which must be dropped and rebuilt
+-- rather than silently kept.
+-- features(product_id, id) and features(release_id, id) also serve the keyset pagination order.
+create index concurrently idx_features_product_id on features (product_id, id);
+create index concurrently idx_features_release_id on features (release_id, id);
+create index concurrently idx_releases_product_id on releases (product_id);
+create index concurrently idx_comments_feature_id_created_at on comments (feature_id, created_at, id);
+-- covering index: the per-user favorites lookup is answered by an index-only scan
+create index concurrently idx_favorite_features_user_id on favorite_features (user_id) include (feature_id);
@@ -0,0 +1,5 @@
+-- Optimistic locking versions, also exposed as ETags.
+-- Adding a column with a constant default doesn't rewrite the table.
+alter table products add column version bigint not null default 0;
+alter table releases add column version bigint not null default 0;
+alter table features add column version bigint not null default 0;
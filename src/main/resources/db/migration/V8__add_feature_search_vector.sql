@@ -0,0 +1,45 @@
+-- Full-text search document for features: title matches rank above description matches.
+-- A trigger keeps it current on every insert and update, including bulk and batch writes that bypass the entity.
+-- A plain nullable column rather than a stored generated one, which would rewrite the whole table under an
+-- ACCESS EXCLUSIVE lock; adding it only takes that lock for the catalog change. Existing rows are backfilled
+-- in batches of their own transactions, so that rows are only locked for the duration of one batch;
+-- this migration runs outside a transaction for that (see the .conf file next to it).
+alter table features add column search_vector tsvector;
+
+create function features_search_vector() returns trigger
+    language plpgsql as
+$$
+begin
+    new.search_vector :=
+            setweight(to_tsvector('english', coalesce(new.title, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(new.description, '')), 'B');
+    return new;
+end
+$$;
+
+create trigger trg_features_search_vector
+    before insert or update of title, description
+    on features
+    for each row
+execute function features_search_vector();
+
+do
+$$
+    declare
+        batch_start bigint;
+        max_id      bigint;
+    begin
+        select min(id), max(id) into batch_start, max_id from features;
+        while batch_start <= max_id
+            loop
+                update features
+                set search_vector = setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+                                    setweight(to_tsvector('english', coalesce(description, '')), 'B')
+                where id >= batch_start
+                  and id < batch_start + 1000
+                  and search_vector is null;
+                commit;
+                batch_start := batch_start + 1000;
+            end loop;
+    end
+$$;
@@ -0,0 +1,3 @@
+-- Built concurrently, in its own migration, so it doesn't block writes on large tables.
+-- No "if not exists", so that an INVALID index left by a failed build fails the migration (see V6).
+create index concurrently idx_features_search_vector on features using gin (search_vector);
@@ -2,9 +2,12 @@ package com.sivalabs.ft.features;
 
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.assertj.MockMvcTester;
@@ -16,4 +19,16 @@ import org.springframework.test.web.servlet.assertj.MockMvcTester;
 public abstract class AbstractIT {
     @Autowired
     protected MockMvcTester mvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void clearCaches() {
+        // test-data.sql resets the database before every test, so cached state must not leak between tests
+        // Invalidate the native caches directly so that clearing doesn't broadcast to other replicas
+        cacheManager.getCacheNames().forEach(name -> ((CaffeineCache) cacheManager.getCache(name))
+                .getNativeCache()
+                .invalidateAll());
+    }
 }
@@ -66,12 +66,73 @@ class CommentControllerTests extends AbstractIT {
     @Test
     void shouldGetCommentsWithPagination() {
         var result = mvc.get()
-                .uri("/api/comments?featureCode={code}&page=0&size=5", "IDEA-1")
+                .uri("/api/comments?featureCode={code}&size=5", "IDEA-1")
                 .exchange();
 
         assertThat(result).hasStatusOk();
     }
 
+    @Test
+    void shouldPageCommentsNewestFirst() {
+        var firstPage = mvc.get()
+                .uri("/api/comments?featureCode={code}&size=2", "IDEA-1")
+                .exchange();
+        assertThat(firstPage)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$[*].id")
+                .asArray()
+                .containsExactly(3, 2);
+        String nextCursor = firstPage.getMvcResult().getResponse().getHeader("X-Next-Cursor");
+        assertThat(nextCursor).isNotBlank();
+
+        var lastPage = mvc.get()
+                .uri("/api/comments?featureCode={code}&size=2&after={after}", "IDEA-1", nextCursor)
+                .exchange();
+        assertThat(lastPage)
+                .hasStatusOk()
+                .doesNotContainHeader("X-Next-Cursor")
+                .bodyJson()
+                .extractingPath("$[*].id")
+                .asArray()
+                .containsExactly(1);
+    }
+
+    @Test
+    void shouldPageCommentsOldestFirst() {
+        var result = mvc.get()
+                .uri("/api/comments?featureCode={code}&size=2&order=asc", "IDEA-1")
+                .exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .containsHeader("X-Next-Cursor")
+                .bodyJson()
+                .extractingPath("$[*].id")
+                .asArray()
+                .containsExactly(1, 2);
+    }
+
+    @Test
+    void shouldReturn400ForInvalidCommentCursor() {
+        var result = mvc.get()
+                .uri("/api/comments?featureCode={code}&after={after}", "IDEA-1", "not-a-cursor")
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldReturn400ForOffsetPage() {
+        var result = mvc.get()
+                .uri("/api/comments?featureCode={code}&page=2", "IDEA-1")
+                .exchange();
+        assertThat(result)
+                .hasStatus(HttpStatus.BAD_REQUEST)
+                .bodyJson()
+                .extractingPath("$.detail")
+                .asString()
+                .contains("after");
+    }
+
     @Test
     @WithMockOAuth2User(username = "user")
     void shouldRemoveComment() {
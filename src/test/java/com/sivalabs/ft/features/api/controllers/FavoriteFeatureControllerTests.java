@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.sivalabs.ft.features.AbstractIT;
 import com.sivalabs.ft.features.WithMockOAuth2User;
+import com.sivalabs.ft.features.domain.dtos.FeatureDto;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 
@@ -73,4 +74,28 @@ class FavoriteFeatureControllerTests extends AbstractIT {
                 .exchange();
         assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
     }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldReflectFavoriteChangesInFeatureReads() {
+        var featureCode = "IDEA-1";
+        assertThat(isFavorite(featureCode)).isFalse();
+
+        mvc.post().uri("/api/features/{featureCode}/favorites", featureCode).exchange();
+        assertThat(isFavorite(featureCode)).isTrue();
+
+        mvc.delete().uri("/api/features/{featureCode}/favorites", featureCode).exchange();
+        assertThat(isFavorite(featureCode)).isFalse();
+    }
+
+    private boolean isFavorite(String featureCode) {
+        var result = mvc.get().uri("/api/features/{code}", featureCode).exchange();
+        assertThat(result).hasStatusOk();
+        return result.getResponse().getStatus() == 200
+                && assertThat(result)
+                        .bodyJson()
+                        .convertTo(FeatureDto.class)
+                        .actual()
+                        .isFavorite();
+    }
 }
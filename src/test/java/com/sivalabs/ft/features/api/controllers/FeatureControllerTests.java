@@ -1,12 +1,19 @@
 package com.sivalabs.ft.features.api.controllers;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
+import com.jayway.jsonpath.JsonPath;
 import com.sivalabs.ft.features.AbstractIT;
 import com.sivalabs.ft.features.WithMockOAuth2User;
+import com.sivalabs.ft.features.domain.FeatureService;
 import com.sivalabs.ft.features.domain.dtos.FeatureDto;
 import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 
@@ -25,6 +32,193 @@ class FeatureControllerTests extends AbstractIT {
                 .isEqualTo(2);
     }
 
+    @Test
+    void shouldPaginateFeaturesByProductCode() {
+        var firstPage = mvc.get()
+                .uri("/api/features?productCode={code}&limit={limit}", "intellij", 1)
+                .exchange();
+        assertThat(firstPage)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$[*].code")
+                .asArray()
+                .containsExactly("IDEA-1");
+        String nextCursor = firstPage.getMvcResult().getResponse().getHeader("X-Next-Cursor");
+        assertThat(nextCursor).isNotBlank();
+
+        var lastPage = mvc.get()
+                .uri("/api/features?productCode={code}&limit={limit}&after={after}", "intellij", 1, nextCursor)
+                .exchange();
+        assertThat(lastPage)
+                .hasStatusOk()
+                .doesNotContainHeader("X-Next-Cursor")
+                .bodyJson()
+                .extractingPath("$[*].code")
+                .asArray()
+                .containsExactly("IDEA-2");
+    }
+
+    @Test
+    void shouldReturn400ForInvalidCursor() {
+        var result = mvc.get()
+                .uri("/api/features?releaseCode={code}&after={after}", "IDEA-2023.3.8", "not-a-cursor")
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldSearchFeatures() {
+        var result =
+                mvc.get().uri("/api/features/search?q={q}", "structure window").exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$[*].code")
+                .asArray()
+                .containsExactly("IDEA-1");
+    }
+
+    @Test
+    void shouldPaginateSearchResults() {
+        var firstPage = mvc.get()
+                .uri("/api/features/search?q={q}&limit={limit}", "go or jpa", 1)
+                .exchange();
+        assertThat(firstPage)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.size()")
+                .asNumber()
+                .isEqualTo(1);
+        String nextCursor = firstPage.getMvcResult().getResponse().getHeader("X-Next-Cursor");
+        assertThat(nextCursor).isNotBlank();
+
+        var lastPage = mvc.get()
+                .uri("/api/features/search?q={q}&limit={limit}&after={after}", "go or jpa", 1, nextCursor)
+                .exchange();
+        assertThat(lastPage)
+                .hasStatusOk()
+                .doesNotContainHeader("X-Next-Cursor")
+                .bodyJson()
+                .extractingPath("$.size()")
+                .asNumber()
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldApplySearchFilters() {
+        var result = mvc.get()
+                .uri("/api/features/search?q={q}&productCode={code}", "structure", "goland")
+                .exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.size()")
+                .asNumber()
+                .isEqualTo(0);
+    }
+
+    @Test
+    void shouldReturn400ForSearchCursorBeyondMaxResults() {
+        String cursor = Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(("o:" + FeatureService.MAX_SEARCH_RESULTS).getBytes(StandardCharsets.UTF_8));
+        var result = mvc.get()
+                .uri("/api/features/search?q={q}&after={after}", "go", cursor)
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldReturn400ForBlankSearchQuery() {
+        var result = mvc.get().uri("/api/features/search?q={q}", " ").exchange();
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldReturnFeatureChangesSinceToken() throws Exception {
+        var initial = mvc.get()
+                .uri("/api/features/changes?productCode={code}", "intellij")
+                .exchange();
+        assertThat(initial).hasStatusOk().bodyJson().extractingPath("$.changes").asArray().isEmpty();
+        String token = JsonPath.read(initial.getResponse().getContentAsString(), "$.token");
+
+        var payload =
+                """
+            {"title": "Changed title", "description": "description", "status": "IN_PROGRESS"}
+            """;
+        assertThat(mvc.put()
+                        .uri("/api/features/{code}", "IDEA-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload)
+                        .exchange())
+                .hasStatusOk();
+        assertThat(mvc.delete().uri("/api/features/{code}", "IDEA-2").exchange())
+                .hasStatusOk();
+
+        // Changes are served once no transaction that started before them is still running
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            var changes = mvc.get()
+                    .uri("/api/features/changes?productCode={code}&since={since}", "intellij", token)
+                    .exchange();
+            assertThat(changes).hasStatusOk();
+            assertThat(changes)
+                    .bodyJson()
+                    .extractingPath("$.changes[*].code")
+                    .asArray()
+                    .containsExactly("IDEA-1", "IDEA-2");
+            assertThat(changes).bodyJson().extractingPath("$.changes[0].type").isEqualTo("UPDATED");
+            assertThat(changes)
+                    .bodyJson()
+                    .extractingPath("$.changes[0].feature.title")
+                    .isEqualTo("Changed title");
+            assertThat(changes).bodyJson().extractingPath("$.changes[1].type").isEqualTo("DELETED");
+            assertThat(changes).bodyJson().extractingPath("$.changes[1].feature").isNull();
+        });
+    }
+
+    @Test
+    void shouldReturn400ForInvalidChangeToken() {
+        var result = mvc.get()
+                .uri("/api/features/changes?productCode={code}&since={since}", "intellij", "not-a-token")
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldExportFeaturesAsNdjson() {
+        var result = mvc.get()
+                .uri("/api/features/export?productCode={code}", "intellij")
+                .exchange();
+        assertThat(result).hasStatusOk().hasContentType("application/x-ndjson");
+        assertThat(result.getResponse().getContentAsByteArray())
+                .asString(StandardCharsets.UTF_8)
+                .hasLineCount(2)
+                .contains("\"code\":\"IDEA-1\"", "\"releaseCode\":\"IDEA-2023.3.8\"", "\"isFavorite\":true");
+    }
+
+    @Test
+    void shouldExportFeaturesAsCsv() {
+        var result = mvc.get()
+                .uri("/api/features/export?productCode={code}&format=csv", "intellij")
+                .exchange();
+        assertThat(result).hasStatusOk();
+        assertThat(result.getResponse().getContentAsByteArray())
+                .asString(StandardCharsets.UTF_8)
+                .startsWith("id,code,title,")
+                .hasLineCount(3)
+                .contains("IDEA-1,Redesign Structure Tool Window");
+    }
+
+    @Test
+    void shouldReturn404WhenExportingUnknownProduct() {
+        var result = mvc.get()
+                .uri("/api/features/export?productCode={code}", "INVALID_CODE")
+                .exchange();
+        assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
+    }
+
     @Test
     void shouldGetFeatureByCode() {
         String code = "IDEA-1";
@@ -34,6 +228,86 @@ class FeatureControllerTests extends AbstractIT {
         });
     }
 
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldReturn304WhenFeatureNotModified() {
+        var result = mvc.get().uri("/api/features/{code}", "IDEA-1").exchange();
+        assertThat(result).hasStatusOk().containsHeader(HttpHeaders.ETAG);
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        var notModified = mvc.get()
+                .uri("/api/features/{code}", "IDEA-1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange();
+        assertThat(notModified).hasStatus(HttpStatus.NOT_MODIFIED);
+
+        var payload =
+                """
+            {
+                "title": "Updated Feature",
+                "status": "IN_PROGRESS"
+            }
+            """;
+        assertThat(mvc.put()
+                        .uri("/api/features/{code}", "IDEA-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload)
+                        .exchange())
+                .hasStatusOk();
+
+        var modified = mvc.get()
+                .uri("/api/features/{code}", "IDEA-1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange();
+        assertThat(modified).hasStatusOk();
+        assertThat(modified.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldReturn412WhenUpdatingWithStaleETag() {
+        String etag = mvc.get()
+                .uri("/api/features/{code}", "IDEA-1")
+                .exchange()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        var payload =
+                """
+            {
+                "title": "Updated Feature",
+                "status": "IN_PROGRESS"
+            }
+            """;
+        assertThat(mvc.put()
+                        .uri("/api/features/{code}", "IDEA-1")
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload)
+                        .exchange())
+                .hasStatusOk();
+
+        var stale = mvc.put()
+                .uri("/api/features/{code}", "IDEA-1")
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload)
+                .exchange();
+        assertThat(stale).hasStatus(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void shouldReturn304WhenFeatureListNotModified() {
+        var result =
+                mvc.get().uri("/api/features?productCode={code}", "intellij").exchange();
+        assertThat(result).hasStatusOk().containsHeader(HttpHeaders.ETAG);
+
+        var notModified = mvc.get()
+                .uri("/api/features?productCode={code}", "intellij")
+                .header(HttpHeaders.IF_NONE_MATCH, result.getResponse().getHeader(HttpHeaders.ETAG))
+                .exchange();
+        assertThat(notModified).hasStatus(HttpStatus.NOT_MODIFIED);
+    }
+
     @Test
     void shouldReturn404WhenFeatureNotFound() {
         var result = mvc.get().uri("/api/features/{code}", "INVALID_CODE").exchange();
@@ -123,4 +397,59 @@ class FeatureControllerTests extends AbstractIT {
         var getResult = mvc.get().uri("/api/features/{code}", "IDEA-2").exchange();
         assertThat(getResult).hasStatus(HttpStatus.NOT_FOUND);
     }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldProcessFeatureBatch() {
+        var payload =
+                """
+            {
+                "items": [
+                    {"operation": "CREATE", "productCode": "intellij", "releaseCode": "IDEA-2023.3.8", "title": "Batch Feature 1"},
+                    {"operation": "CREATE", "productCode": "goland", "title": "Batch Feature 2"},
+                    {"operation": "CREATE", "productCode": "unknown", "title": "Invalid Feature"},
+                    {"operation": "UPDATE", "code": "IDEA-1", "title": "Updated in batch", "status": "RELEASED"},
+                    {"operation": "DELETE", "code": "IDEA-2"},
+                    {"operation": "DELETE", "code": "INVALID_CODE"}
+                ]
+            }
+            """;
+
+        var result = mvc.post()
+                .uri("/api/features/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload)
+                .exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$[*].status")
+                .asArray()
+                .containsExactly("CREATED", "CREATED", "FAILED", "UPDATED", "DELETED", "FAILED");
+        assertThat(result).bodyJson().extractingPath("$[2].error").asString().isEqualTo("Product not found: unknown");
+
+        String createdCode = assertThat(result)
+                .bodyJson()
+                .extractingPath("$[0].code")
+                .asString()
+                .startsWith("IDEA-")
+                .actual();
+        assertThat(mvc.get().uri("/api/features/{code}", createdCode).exchange())
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureDto.class)
+                .satisfies(dto -> {
+                    assertThat(dto.title()).isEqualTo("Batch Feature 1");
+                    assertThat(dto.releaseCode()).isEqualTo("IDEA-2023.3.8");
+                });
+        assertThat(mvc.get().uri("/api/features/{code}", "IDEA-1").exchange())
+                .hasStatusOk()
+                .bodyJson()
+                .convertTo(FeatureDto.class)
+                .satisfies(dto -> {
+                    assertThat(dto.title()).isEqualTo("Updated in batch");
+                    assertThat(dto.status()).isEqualTo(FeatureStatus.RELEASED);
+                });
+        assertThat(mvc.get().uri("/api/features/{code}", "IDEA-2").exchange()).hasStatus(HttpStatus.NOT_FOUND);
+    }
 }
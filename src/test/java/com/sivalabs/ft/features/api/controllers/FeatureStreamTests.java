@@ -0,0 +1,74 @@
+package com.sivalabs.ft.features.api.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.sivalabs.ft.features.AbstractIT;
+import com.sivalabs.ft.features.domain.Commands.CreateFeatureCommand;
+import com.sivalabs.ft.features.domain.FeatureService;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+class FeatureStreamTests extends AbstractIT {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FeatureService featureService;
+
+    @Autowired
+    private FeatureStreamListener listener;
+
+    @BeforeEach
+    void waitForListener() {
+        // One partition for each of the created, updated and deleted topics
+        await().atMost(Duration.ofSeconds(30)).until(() -> listener.assignedPartitions().size() == 3);
+    }
+
+    @Test
+    void shouldPushEventsOfTheProduct() {
+        HttpClient client = HttpClient.newHttpClient();
+        try {
+            List<String> lines = new CopyOnWriteArrayList<>();
+            var request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/api/features/stream?productCode=intellij"))
+                    .header("Accept", "text/event-stream")
+                    .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                    .thenAccept(response -> response.body().forEach(lines::add));
+            // The stream opens with a heartbeat comment
+            await().atMost(Duration.ofSeconds(10)).until(() -> lines.contains(":"));
+
+            String goLandCode = featureService.createFeature(
+                    new CreateFeatureCommand("goland", null, "Other product", "description", null, "user"));
+            String code = featureService.createFeature(
+                    new CreateFeatureCommand("intellij", null, "Streamed feature", "description", null, "user"));
+
+            await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> assertThat(lines)
+                    .contains("event:created")
+                    .anySatisfy(line -> assertThat(line)
+                            .startsWith("data:")
+                            .contains("\"code\":\"" + code + "\"")));
+            assertThat(lines).noneMatch(line -> line.contains(goLandCode));
+        } finally {
+            client.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldReturn404ForUnknownProduct() {
+        var result = mvc.get().uri("/api/features/stream?productCode={code}", "unknown").exchange();
+        assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
+    }
+}
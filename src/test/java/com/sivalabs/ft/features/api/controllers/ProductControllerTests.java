@@ -6,6 +6,7 @@ import com.sivalabs.ft.features.AbstractIT;
 import com.sivalabs.ft.features.WithMockOAuth2User;
 import com.sivalabs.ft.features.domain.dtos.ProductDto;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 
@@ -32,7 +33,8 @@ class ProductControllerTests extends AbstractIT {
                 "JetBrains IDE for Java",
                 "https://resources.jetbrains.com/storage/products/company/brand/logos/IntelliJ_IDEA.png",
                 false,
-                "admin");
+                "admin",
+                0L);
         var actual = mvc.get().uri("/api/products/{code}", "intellij").exchange();
         assertThat(actual)
                 .hasStatusOk()
@@ -43,12 +45,46 @@ class ProductControllerTests extends AbstractIT {
                 .isEqualTo(expected);
     }
 
+    @Test
+    void shouldReturn304WhenProductsNotModified() {
+        var result = mvc.get().uri("/api/products").exchange();
+        assertThat(result).hasStatusOk().containsHeader(HttpHeaders.ETAG);
+
+        var notModified = mvc.get()
+                .uri("/api/products")
+                .header(HttpHeaders.IF_NONE_MATCH, result.getResponse().getHeader(HttpHeaders.ETAG))
+                .exchange();
+        assertThat(notModified).hasStatus(HttpStatus.NOT_MODIFIED);
+    }
+
     @Test
     void shouldReturn404WhenProductNotFound() {
         var actual = mvc.get().uri("/api/products/{code}", "INVALID_CODE").exchange();
         assertThat(actual).hasStatus(HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    void shouldGetProductStats() {
+        var result = mvc.get().uri("/api/products/{code}/stats", "goland").exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.total")
+                .asNumber()
+                .isEqualTo(1);
+        assertThat(result)
+                .bodyJson()
+                .extractingPath("$.countsByStatus.IN_PROGRESS")
+                .asNumber()
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturn404ForStatsOfUnknownProduct() {
+        var result = mvc.get().uri("/api/products/{code}/stats", "INVALID_CODE").exchange();
+        assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
+    }
+
     @Test
     @WithMockOAuth2User(username = "user")
     void shouldCreateNewProduct() {
@@ -74,6 +110,9 @@ class ProductControllerTests extends AbstractIT {
     @Test
     @WithMockOAuth2User(username = "user")
     void shouldUpdateProduct() {
+        // Load the product into the cache so that the update has to evict it
+        assertThat(mvc.get().uri("/api/products/{code}", "intellij").exchange()).hasStatusOk();
+
         var payload =
                 """
             {
@@ -100,7 +139,8 @@ class ProductControllerTests extends AbstractIT {
                 "Best IDE for Java",
                 "https://resources.jetbrains.com/storage/products/company/brand/logos/IntelliJ_IDEA_Ultimate.png",
                 false,
-                "admin");
+                "admin",
+                1L);
         var actual = mvc.get().uri("/api/products/{code}", "intellij").exchange();
         assertThat(actual)
                 .hasStatusOk()
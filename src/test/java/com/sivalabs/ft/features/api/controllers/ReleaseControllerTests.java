@@ -39,6 +39,56 @@ class ReleaseControllerTests extends AbstractIT {
         assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    void shouldGetReleaseStats() {
+        var result =
+                mvc.get().uri("/api/releases/{code}/stats", "IDEA-2023.3.8").exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.total")
+                .asNumber()
+                .isEqualTo(2);
+        assertThat(result)
+                .bodyJson()
+                .extractingPath("$.countsByStatus.NEW")
+                .asNumber()
+                .isEqualTo(2);
+    }
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldUpdateReleaseStatsWhenFeatureChanges() {
+        var payload =
+                """
+                {
+                    "title": "Redesign Structure Tool Window",
+                    "releaseCode": "IDEA-2023.3.8",
+                    "status": "IN_PROGRESS"
+                }
+                """;
+        var update = mvc.put()
+                .uri("/api/features/{code}", "IDEA-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(payload)
+                .exchange();
+        assertThat(update).hasStatusOk();
+
+        var result =
+                mvc.get().uri("/api/releases/{code}/stats", "IDEA-2023.3.8").exchange();
+        assertThat(result)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.countsByStatus.NEW")
+                .asNumber()
+                .isEqualTo(1);
+        assertThat(result)
+                .bodyJson()
+                .extractingPath("$.countsByStatus.IN_PROGRESS")
+                .asNumber()
+                .isEqualTo(1);
+    }
+
     @Test
     @WithMockOAuth2User(username = "user")
     void shouldCreateNewRelease() {
@@ -62,6 +112,10 @@ class ReleaseControllerTests extends AbstractIT {
     @Test
     @WithMockOAuth2User(username = "user")
     void shouldUpdateRelease() {
+        // Load the release into the cache so that the update has to evict it
+        assertThat(mvc.get().uri("/api/releases/{code}", "IDEA-2023.3.8").exchange())
+                .hasStatusOk();
+
         var payload =
                 """
             {
@@ -95,6 +149,10 @@ class ReleaseControllerTests extends AbstractIT {
     @Test
     @WithMockOAuth2User(username = "user")
     void shouldDeleteRelease() {
+        // Load the release into the cache so that the delete has to evict it
+        assertThat(mvc.get().uri("/api/releases/{code}", "RIDER-2024.2.6").exchange())
+                .hasStatusOk();
+
         var result = mvc.delete().uri("/api/releases/{code}", "RIDER-2024.2.6").exchange();
         assertThat(result).hasStatusOk();
 
@@ -0,0 +1,59 @@
+package com.sivalabs.ft.features.api.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.sivalabs.ft.features.AbstractIT;
+import com.sivalabs.ft.features.WithMockOAuth2User;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+
+// A chunk size of 1 makes every release with features large enough to be deleted in the background
+@TestPropertySource(properties = "ft.releases.deletion-chunk-size=1")
+class ReleaseDeletionTests extends AbstractIT {
+
+    @Test
+    @WithMockOAuth2User(username = "user")
+    void shouldDeleteLargeReleaseInBackground() {
+        var result = mvc.delete().uri("/api/releases/{code}", "IDEA-2023.3.8").exchange();
+        assertThat(result).hasStatus(HttpStatus.ACCEPTED);
+        assertThat(result)
+                .bodyJson()
+                .extractingPath("$.totalFeatures")
+                .asNumber()
+                .isEqualTo(2);
+        String location = result.getMvcResult().getResponse().getHeader(HttpHeaders.LOCATION);
+        assertThat(location).contains("/api/releases/deletion-jobs/");
+
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(mvc.get().uri(location).exchange())
+                        .hasStatusOk()
+                        .bodyJson()
+                        .extractingPath("$.status")
+                        .asString()
+                        .isEqualTo("COMPLETED"));
+
+        assertThat(mvc.get().uri("/api/releases/{code}", "IDEA-2023.3.8").exchange())
+                .hasStatus(HttpStatus.NOT_FOUND);
+        assertThat(mvc.get().uri("/api/features/{code}", "IDEA-1").exchange())
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.releaseCode")
+                .isNull();
+        assertThat(mvc.get().uri("/api/products/{code}/stats", "intellij").exchange())
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.countsByStatus.NEW")
+                .asNumber()
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturn404ForUnknownDeletionJob() {
+        var result = mvc.get().uri("/api/releases/deletion-jobs/{id}", 999_999).exchange();
+        assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,89 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.TestcontainersConfiguration;
+import com.sivalabs.ft.features.domain.ProductService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class CacheInvalidationTests {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private ConsumerFactory<?, ?> consumerFactory;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Autowired
+    private CacheInvalidationPublisher publisher;
+
+    @Autowired
+    private ApplicationProperties properties;
+
+    private Cache productsCache;
+
+    @BeforeEach
+    void setUp() {
+        ContainerTestUtils.waitForAssignment(
+                listenerRegistry.getListenerContainer(CacheInvalidationListener.LISTENER_ID), 1);
+        productsCache = cacheManager.getCache(ProductService.PRODUCTS_CACHE);
+        productsCache.put("intellij", "cached");
+    }
+
+    @Test
+    void shouldEvictEntriesInvalidatedByOtherReplicas() {
+        kafkaTemplate.send(
+                properties.cache().invalidationTopic(),
+                ProductService.PRODUCTS_CACHE,
+                new CacheInvalidation("other-replica", ProductService.PRODUCTS_CACHE, "intellij"));
+
+        await().atMost(Duration.ofSeconds(30))
+                .untilAsserted(() -> assertThat(productsCache.get("intellij")).isNull());
+    }
+
+    @Test
+    void shouldBroadcastLocalEvictions() {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        try (var consumer = consumerFactory.createConsumer("cache-invalidation-tests", null, null, overrides)) {
+            consumer.subscribe(List.of(properties.cache().invalidationTopic()));
+
+            productsCache.evict("intellij");
+
+            List<ConsumerRecord<?, ?>> received = new ArrayList<>();
+            await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+                consumer.poll(Duration.ofMillis(500)).forEach(received::add);
+                assertThat(received)
+                        .<Object>extracting(ConsumerRecord::value)
+                        .contains(new CacheInvalidation(
+                                publisher.instanceId(), ProductService.PRODUCTS_CACHE, "intellij"));
+            });
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+class CachingJwtDecoderTests {
+    private final JwtDecoder delegate = mock(JwtDecoder.class);
+    private final CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100);
+
+    @Test
+    void shouldValidateEachTokenOnceUntilItExpires() {
+        Jwt first = jwt("first", Instant.now().plusSeconds(300));
+        Jwt second = jwt("second", Instant.now().plusSeconds(300));
+        when(delegate.decode("first")).thenReturn(first);
+        when(delegate.decode("second")).thenReturn(second);
+
+        assertThat(decoder.decode("first")).isSameAs(first);
+        assertThat(decoder.decode("first")).isSameAs(first);
+        assertThat(decoder.decode("second")).isSameAs(second);
+
+        verify(delegate, times(1)).decode("first");
+        verify(delegate, times(1)).decode("second");
+    }
+
+    @Test
+    void shouldNotKeepExpiredTokens() {
+        Jwt expired = jwt("expired", Instant.now().minusSeconds(1));
+        when(delegate.decode("expired")).thenReturn(expired);
+
+        decoder.decode("expired");
+        decoder.decode("expired");
+
+        verify(delegate, times(2)).decode("expired");
+    }
+
+    @Test
+    void shouldNotCacheInvalidTokens() {
+        when(delegate.decode("invalid")).thenThrow(new BadJwtException("invalid signature"));
+
+        assertThatThrownBy(() -> decoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+
+        verify(delegate, times(2)).decode("invalid");
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return new Jwt(
+                token,
+                expiresAt.minusSeconds(600),
+                expiresAt,
+                Map.of("alg", "RS256"),
+                Map.of("preferred_username", "siva"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.AbstractIT;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class MetricsTests extends AbstractIT {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldRecordServiceTimersAndRepositoryResultSizes() {
+        var result =
+                mvc.get().uri("/api/features?productCode={code}", "intellij").exchange();
+        assertThat(result).hasStatusOk();
+
+        var serviceTimer = meterRegistry
+                .find("ft.service")
+                .tags("class", "FeatureService", "method", "findFeaturesByProduct")
+                .timer();
+        assertThat(serviceTimer).isNotNull();
+        assertThat(serviceTimer.count()).isPositive();
+
+        var resultSize = meterRegistry
+                .find(RepositoryResultSizeAspect.METRIC_NAME)
+                .tags("repository", "FeatureRepository", "method", "findDtosByProductCode")
+                .summary();
+        assertThat(resultSize).isNotNull();
+        assertThat(resultSize.max()).isEqualTo(2);
+    }
+}
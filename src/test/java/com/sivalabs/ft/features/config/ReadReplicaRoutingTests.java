@@ -0,0 +1,108 @@
+package com.sivalabs.ft.features.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sivalabs.ft.features.TestcontainersConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers
+class ReadReplicaRoutingTests {
+
+    // A second, independent Postgres stands in for the replica; its database name tells where a query ran
+    @Container
+    static PostgreSQLContainer<?> replica =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:17")).withDatabaseName("replica");
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("ft.db.replicas.enabled", () -> "true");
+        // The second replica is unreachable and must drop out of the rotation
+        registry.add("ft.db.replicas.urls", () -> replica.getJdbcUrl() + ",jdbc:postgresql://localhost:1/down");
+        registry.add("ft.db.replicas.username", replica::getUsername);
+        registry.add("ft.db.replicas.password", replica::getPassword);
+        registry.add("ft.db.replicas.read-your-writes", () -> "true");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadReplicas readReplicas;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void bindRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    }
+
+    @AfterEach
+    void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplicas() {
+        assertThat(currentDatabase(true)).isEqualTo("replica");
+        assertThat(currentDatabase(false)).isEqualTo("test");
+    }
+
+    @Test
+    void shouldFailOverToReachableReplica() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(currentDatabase(true)).isEqualTo("replica");
+        }
+        assertThat(readReplicas.getAvailableReplicas()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldServeReadsAfterWritesFromReplicasThatCaughtUp() {
+        currentDatabase(false);
+        String lsn = response.getHeader(ReplicationLsn.HEADER);
+        assertThat(lsn).isNotNull();
+
+        // The stand-in replica isn't replaying the primary's WAL, so it never catches up
+        request.addHeader(ReplicationLsn.HEADER, lsn);
+        assertThat(currentDatabase(true)).isEqualTo("test");
+    }
+
+    @Test
+    void shouldParseAndFormatLsn() {
+        assertThat(ReplicationLsn.parse("16/B374D848")).isEqualTo(0x16B374D848L);
+        assertThat(ReplicationLsn.format(0x16B374D848L)).isEqualTo("16/B374D848");
+        assertThat(ReplicationLsn.parse("0/0")).isZero();
+        assertThatThrownBy(() -> ReplicationLsn.parse("B374D848")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(
+                status -> jdbcTemplate.queryForObject("select current_database()", String.class));
+    }
+}
@@ -0,0 +1,50 @@
+package com.sivalabs.ft.features.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class FeatureCodeAllocatorTests {
+
+    @Test
+    void shouldHandOutNumbersFromReservedBlocks() {
+        FeatureRepository featureRepository = mock(FeatureRepository.class);
+        when(featureRepository.getNextFeatureCodeBlock()).thenReturn(100L, 150L);
+        var allocator = new FeatureCodeAllocator(featureRepository);
+
+        long[] ids = allocator.nextIds(FeatureCodeAllocator.BLOCK_SIZE + 1);
+
+        assertThat(ids[0]).isEqualTo(100L);
+        assertThat(ids[FeatureCodeAllocator.BLOCK_SIZE - 1]).isEqualTo(149L);
+        assertThat(ids[FeatureCodeAllocator.BLOCK_SIZE]).isEqualTo(150L);
+        assertThat(allocator.getRemaining()).isEqualTo(FeatureCodeAllocator.BLOCK_SIZE - 1);
+        verify(featureRepository, times(2)).getNextFeatureCodeBlock();
+    }
+
+    @Test
+    void shouldNotHandOutTheSameNumberTwiceUnderContention() throws Exception {
+        FeatureRepository featureRepository = mock(FeatureRepository.class);
+        var sequence = new AtomicLong(100);
+        when(featureRepository.getNextFeatureCodeBlock())
+                .thenAnswer(invocation -> sequence.getAndAdd(FeatureCodeAllocator.BLOCK_SIZE));
+        var allocator = new FeatureCodeAllocator(featureRepository);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1000; i++) {
+                executor.submit(() -> ids.add(allocator.nextId()));
+            }
+        }
+
+        assertThat(ids).hasSize(1000);
+        verify(featureRepository, times(20)).getNextFeatureCodeBlock();
+    }
+}
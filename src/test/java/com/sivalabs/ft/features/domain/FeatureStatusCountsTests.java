@@ -0,0 +1,35 @@
+package com.sivalabs.ft.features.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.AbstractIT;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class FeatureStatusCountsTests extends AbstractIT {
+
+    @Autowired
+    private FeatureStatusCounts featureStatusCounts;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldRepairDriftedCounts() {
+        // Writes that bypassed the counts, like those of a replica running an older version
+        jdbcTemplate.update("delete from feature_status_counts where product_id = 2");
+        jdbcTemplate.update(
+                """
+                insert into feature_status_counts (product_id, release_id, status, feature_count)
+                values (2, null, 'NEW', 5)
+                """);
+
+        featureStatusCounts.recount();
+
+        assertThat(featureStatusCounts.countByProductId(2))
+                .containsEntry(FeatureStatus.IN_PROGRESS, 1L)
+                .containsEntry(FeatureStatus.NEW, 0L);
+    }
+}
@@ -0,0 +1,203 @@
+package com.sivalabs.ft.features.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.TestcontainersConfiguration;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.test.context.jdbc.Sql;
+
+/**
+ * Guards the lookup indexes against regressions by checking that the SQL Hibernate generates for the
+ * repository queries is planned with the expected index.
+ * The data set is skewed, many products, releases, features and users with few rows each, so that the
+ * planner picks the indexes on its own for the queried product, release, feature and user.
+ */
+@DataJpaTest
+@Import({TestcontainersConfiguration.class, QueryPlanTests.StatementCapture.class})
+@Sql(scripts = {"/test-data.sql"})
+class QueryPlanTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CapturedStatements statements;
+
+    @Autowired
+    private FeatureRepository featureRepository;
+
+    @Autowired
+    private ReleaseRepository releaseRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private FavoriteFeatureRepository favoriteFeatureRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update(
+                """
+                insert into products (code, prefix, name, image_url, created_by)
+                select 'bulk-' || g, 'B' || g, 'Bulk ' || g, 'bulk.png', 'admin' from generate_series(1, 200) g
+                """);
+        jdbcTemplate.update(
+                """
+                insert into releases (product_id, code, description, status, created_by)
+                select p.id, 'BULK-R-' || p.id || '-' || g, 'bulk release', 'DRAFT', 'admin'
+                from products p cross join generate_series(1, 10) g where p.code like 'bulk-%'
+                """);
+        jdbcTemplate.update(
+                """
+                insert into features (product_id, release_id, code, title, status, created_by)
+                select r.product_id, r.id, 'BULK-F-' || r.id || '-' || g, 'bulk feature', 'NEW', 'admin'
+                from releases r cross join generate_series(1, 10) g where r.code like 'BULK-R-%'
+                """);
+        jdbcTemplate.update(
+                """
+                insert into comments (feature_id, created_by, content)
+                select f.id, 'admin', 'bulk comment ' || g
+                from features f cross join generate_series(1, 2) g where f.code like 'BULK-F-%'
+                """);
+        jdbcTemplate.update(
+                """
+                insert into favorite_features (feature_id, user_id)
+                select f.id, 'bulk-user-' || (f.id % 1000) from features f where f.code like 'BULK-F-%'
+                """);
+        jdbcTemplate.execute("analyze products, releases, features, comments, favorite_features");
+    }
+
+    @Test
+    void findByProductCodeUsesProductIndex() {
+        assertThat(explain(() -> featureRepository.findDtosByProductCode("intellij"), "intellij"))
+                .contains("idx_features_product_id");
+    }
+
+    @Test
+    void findByProductCodeAfterUsesProductIndex() {
+        assertThat(explain(
+                        () -> featureRepository.findDtosByProductCodeAfter("intellij", 0L, Limit.of(51)),
+                        "intellij",
+                        0L,
+                        51))
+                .contains("idx_features_product_id");
+    }
+
+    @Test
+    void findByReleaseCodeUsesReleaseIndex() {
+        assertThat(explain(() -> featureRepository.findDtosByReleaseCode("IDEA-2023.3.8"), "IDEA-2023.3.8"))
+                .contains("idx_features_release_id");
+    }
+
+    @Test
+    void findByReleaseCodeAfterUsesReleaseIndex() {
+        assertThat(explain(
+                        () -> featureRepository.findDtosByReleaseCodeAfter("IDEA-2023.3.8", 0L, Limit.of(51)),
+                        "IDEA-2023.3.8",
+                        0L,
+                        51))
+                .contains("idx_features_release_id");
+    }
+
+    @Test
+    void findReleasesByProductCodeUsesProductIndex() {
+        assertThat(explain(() -> releaseRepository.findDtosByProductCode("intellij"), "intellij"))
+                .contains("idx_releases_product_id");
+    }
+
+    @Test
+    void findCommentsByFeatureCodeUsesFeatureIndex() {
+        assertThat(explain(() -> commentRepository.findNewestByFeatureCode("IDEA-1", Limit.of(20)), "IDEA-1", 20))
+                .contains("idx_comments_feature_id_created_at");
+    }
+
+    @Test
+    void findFavoriteFeatureIdsUsesUserIndex() {
+        // rows inserted in this transaction aren't all-visible yet, so an index-only scan can't be asserted here
+        assertThat(explain(() -> favoriteFeatureRepository.findFeatureIdsByUserId("user"), "user"))
+                .contains("idx_favorite_features_user_id");
+    }
+
+    @Test
+    void searchUsesSearchVectorIndex() {
+        var noProduct = new SqlParameterValue(Types.BIGINT, null);
+        var noRelease = new SqlParameterValue(Types.BIGINT, null);
+        var noStatus = new SqlParameterValue(Types.VARCHAR, null);
+        assertThat(explain(
+                        () -> featureRepository.searchIds("structure", null, null, null, 0, 21),
+                        "structure",
+                        noProduct,
+                        noProduct,
+                        noRelease,
+                        noRelease,
+                        noStatus,
+                        noStatus,
+                        "structure",
+                        0,
+                        21))
+                .contains("idx_features_search_vector");
+    }
+
+    /**
+     * Runs the query, then explains the first statement Hibernate sent for it with the given parameters,
+     * bound in the order of the placeholders in the SQL.
+     */
+    private String explain(Runnable query, Object... parameters) {
+        statements.clear();
+        query.run();
+        assertThat(statements.getAll()).isNotEmpty();
+        List<String> plan =
+                jdbcTemplate.queryForList("explain " + statements.getAll().getFirst(), String.class, parameters);
+        return String.join("\n", plan);
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class StatementCapture {
+        @Bean
+        CapturedStatements capturedStatements() {
+            return new CapturedStatements();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(CapturedStatements statements) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statements);
+        }
+    }
+
+    /**
+     * Records the SQL Hibernate generates, so that the plans checked are those of the statements actually sent.
+     */
+    static class CapturedStatements implements StatementInspector {
+        private final List<String> statements = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        List<String> getAll() {
+            return statements;
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+}
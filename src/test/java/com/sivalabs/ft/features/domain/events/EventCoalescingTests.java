@@ -0,0 +1,110 @@
+package com.sivalabs.ft.features.domain.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import com.sivalabs.ft.features.TestcontainersConfiguration;
+import com.sivalabs.ft.features.domain.Commands.DeleteFeatureCommand;
+import com.sivalabs.ft.features.domain.Commands.UpdateFeatureCommand;
+import com.sivalabs.ft.features.domain.FeatureService;
+import com.sivalabs.ft.features.domain.entities.OutboxEvent;
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// A long window keeps the update events in the outbox for the duration of the test
+@SpringBootTest(properties = "ft.events.coalesce-window=1h")
+@Import(TestcontainersConfiguration.class)
+@Sql(scripts = {"/test-data.sql"})
+class EventCoalescingTests {
+
+    @Autowired
+    private FeatureService featureService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldCoalesceSuccessiveUpdatesIntoOneEvent() {
+        outboxEventRepository.deleteAll();
+        for (int i = 1; i <= 3; i++) {
+            featureService.updateFeature(new UpdateFeatureCommand(
+                    "IDEA-1", "Title " + i, "description", FeatureStatus.IN_PROGRESS, null, null, "user"));
+        }
+
+        List<OutboxEvent> pending = pendingEvents(FeatureUpdatedEvent.class);
+        assertThat(pending).singleElement().satisfies(event -> assertThat(event.getPayload())
+                .contains("\"title\":\"Title 3\""));
+    }
+
+    @Test
+    void shouldDropPendingUpdateWhenFeatureIsDeleted() {
+        outboxEventRepository.deleteAll();
+        featureService.updateFeature(new UpdateFeatureCommand(
+                "IDEA-1", "Updated", "description", FeatureStatus.IN_PROGRESS, null, null, "user"));
+        featureService.deleteFeature(new DeleteFeatureCommand("IDEA-1", "user"));
+
+        assertThat(pendingEvents(FeatureUpdatedEvent.class)).isEmpty();
+        assertThat(pendingEvents(FeatureDeletedEvent.class)).hasSize(1);
+    }
+
+    @Test
+    void shouldNotWaitForUpdateEventsTheRelayIsSending() throws Exception {
+        outboxEventRepository.deleteAll();
+        featureService.updateFeature(new UpdateFeatureCommand(
+                "IDEA-1", "Title 1", "description", FeatureStatus.IN_PROGRESS, null, null, "user"));
+
+        // Holds the row locks the relay takes while it waits for Kafka acks
+        var locked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var relay = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            outboxEventRepository.findRelayable(
+                    FeatureUpdatedEvent.class.getName(), Instant.now().plus(Duration.ofDays(1)), Limit.of(100));
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        try {
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> featureService.updateFeature(new UpdateFeatureCommand(
+                    "IDEA-1", "Title 2", "description", FeatureStatus.IN_PROGRESS, null, null, "user")));
+            assertTimeoutPreemptively(
+                    Duration.ofSeconds(5),
+                    () -> featureService.deleteFeature(new DeleteFeatureCommand("IDEA-1", "user")));
+        } finally {
+            release.countDown();
+            relay.get(10, TimeUnit.SECONDS);
+        }
+
+        // The event being sent is left alone, the new update was dropped by the delete
+        assertThat(pendingEvents(FeatureUpdatedEvent.class))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getPayload()).contains("\"title\":\"Title 1\""));
+        assertThat(pendingEvents(FeatureDeletedEvent.class)).hasSize(1);
+    }
+
+    private List<OutboxEvent> pendingEvents(Class<?> eventType) {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> event.getEventType().equals(eventType.getName()))
+                .filter(event -> event.getAggregateKey().equals("IDEA-1"))
+                .toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.sivalabs.ft.features.domain.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sivalabs.ft.features.domain.models.FeatureStatus;
+import java.time.Instant;
+import java.util.Map;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+class EventCodecTests {
+    private static final String AVRO_TOPIC = "updated_features";
+    private static final String JSON_TOPIC = "new_features";
+
+    private final AvroEventCodec avro = AvroEventCodec.fromRegistry();
+    private final EventSerializer serializer =
+            new EventSerializer(Map.of(AVRO_TOPIC, EventFormat.AVRO), avro, new JsonSerializer<>());
+    private final EventDeserializer deserializer = new EventDeserializer(avro, new JsonDeserializer<>());
+
+    private final Instant createdAt = Instant.parse("2024-08-30T10:15:30.123456Z");
+    private final FeatureUpdatedEvent updated = new FeatureUpdatedEvent(
+            358562L,
+            "IDEA-358562",
+            "Support Gradle Daemon Toolchains in UI",
+            "Gradle 8.8 introduced JVM toolchains support for the Gradle daemon itself.",
+            FeatureStatus.IN_PROGRESS,
+            null,
+            "marcobehler",
+            "siva",
+            createdAt,
+            "marcobehler",
+            createdAt.plusSeconds(60));
+
+    @BeforeEach
+    void setUp() {
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*"), false);
+    }
+
+    @Test
+    void shouldRoundTripEventsAsAvroOnAvroTopics() {
+        var headers = new RecordHeaders();
+        byte[] data = serializer.serialize(AVRO_TOPIC, headers, updated);
+
+        assertThat(headers.lastHeader(AvroEventCodec.SCHEMA_ID_HEADER)).isNotNull();
+        assertThat(deserializer.deserialize(AVRO_TOPIC, headers, data)).isEqualTo(updated);
+    }
+
+    @Test
+    void shouldRoundTripAllFeatureEvents() {
+        var created = new FeatureCreatedEvent(
+                1L, "IDEA-1", "title", null, FeatureStatus.NEW, "IDEA-2025.1", null, "siva", createdAt);
+        var deleted = new FeatureDeletedEvent(
+                1L, "IDEA-1", "title", "desc", FeatureStatus.RELEASED, null, null, "siva", createdAt, null, null,
+                "siva", createdAt.plusSeconds(1));
+        for (Object event : new Object[] {created, updated, deleted}) {
+            var headers = new RecordHeaders();
+            byte[] data = avro.encode(event, headers);
+            assertThat(avro.decode(data, headers.lastHeader(AvroEventCodec.SCHEMA_ID_HEADER)))
+                    .isEqualTo(event);
+        }
+    }
+
+    @Test
+    void shouldWriteJsonOnOtherTopicsAndReadIt() {
+        var headers = new RecordHeaders();
+        byte[] data = serializer.serialize(JSON_TOPIC, headers, updated);
+
+        assertThat(headers.lastHeader(AvroEventCodec.SCHEMA_ID_HEADER)).isNull();
+        assertThat(deserializer.deserialize(JSON_TOPIC, headers, data)).isEqualTo(updated);
+    }
+
+    @Test
+    void shouldBeMuchSmallerThanJson() {
+        byte[] json = serializer.serialize(JSON_TOPIC, new RecordHeaders(), updated);
+        byte[] binary = serializer.serialize(AVRO_TOPIC, new RecordHeaders(), updated);
+
+        assertThat(binary.length).isLessThan(json.length * 3 / 5);
+    }
+}
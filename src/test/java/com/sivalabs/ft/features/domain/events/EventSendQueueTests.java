@@ -0,0 +1,97 @@
+package com.sivalabs.ft.features.domain.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.ApplicationProperties.EventsProperties;
+import com.sivalabs.ft.features.ApplicationProperties.SendQueueProperties;
+import com.sivalabs.ft.features.domain.entities.OutboxEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+class EventSendQueueTests {
+    private static final String TOPIC = "cache_invalidations";
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EventSendQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null && queue.isRunning()) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void shouldRetryFailedSendsWithBackoff() {
+        when(kafkaTemplate.send(TOPIC, "products", "message"))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        queue = newQueue(10, OverflowPolicy.BLOCK);
+        queue.start();
+
+        queue.send(TOPIC, "products", "message");
+
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(meterRegistry
+                                .timer("ft.events.send", "topic", TOPIC, "outcome", "success")
+                                .count())
+                        .isEqualTo(1));
+        verify(kafkaTemplate, times(2)).send(TOPIC, "products", "message");
+        assertThat(meterRegistry.counter("ft.events.send.retries").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShedMessagesWhenFull() {
+        queue = newQueue(1, OverflowPolicy.SHED);
+
+        queue.send(TOPIC, "products", "first");
+        queue.send(TOPIC, "products", "second");
+
+        assertThat(meterRegistry
+                        .counter("ft.events.queue.overflow", "topic", TOPIC, "policy", "SHED")
+                        .count())
+                .isEqualTo(1);
+        verify(outboxEventRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldSpillMessagesToOutboxWhenFull() {
+        queue = newQueue(1, OverflowPolicy.SPILL);
+
+        queue.send(TOPIC, "products", "first");
+        queue.send(TOPIC, "products", "second");
+
+        verify(outboxEventRepository).save(any(OutboxEvent.class));
+        assertThat(meterRegistry
+                        .counter("ft.events.queue.overflow", "topic", TOPIC, "policy", "SPILL")
+                        .count())
+                .isEqualTo(1);
+    }
+
+    private EventSendQueue newQueue(int capacity, OverflowPolicy overflow) {
+        var sendQueue = new SendQueueProperties(
+                capacity, overflow, Duration.ofMillis(10), 3, Duration.ofMillis(10), Duration.ofMillis(100));
+        ApplicationProperties properties = mock(ApplicationProperties.class);
+        when(properties.events()).thenReturn(new EventsProperties(null, null, null, null, Map.of(), sendQueue, Duration.ZERO));
+        return new EventSendQueue(kafkaTemplate, outboxEventRepository, new ObjectMapper(), properties, meterRegistry);
+    }
+}
@@ -0,0 +1,64 @@
+package com.sivalabs.ft.features.domain.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.sivalabs.ft.features.ApplicationProperties;
+import com.sivalabs.ft.features.TestcontainersConfiguration;
+import com.sivalabs.ft.features.domain.Commands.CreateFeatureCommand;
+import com.sivalabs.ft.features.domain.FeatureService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Sql(scripts = {"/test-data.sql"})
+class OutboxRelayTests {
+
+    @Autowired
+    private FeatureService featureService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ConsumerFactory<?, ?> consumerFactory;
+
+    @Autowired
+    private ApplicationProperties properties;
+
+    @Test
+    void shouldRelayFeatureEventsKeyedByFeatureCode() {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        try (var consumer = consumerFactory.createConsumer("outbox-relay-tests", null, null, overrides)) {
+            consumer.subscribe(List.of(properties.events().newFeatures()));
+
+            var cmd = new CreateFeatureCommand("intellij", null, "Outbox feature", "description", null, "user");
+            String code = featureService.createFeature(cmd);
+
+            List<ConsumerRecord<?, ?>> received = new ArrayList<>();
+            await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+                consumer.poll(Duration.ofMillis(500)).forEach(received::add);
+                assertThat(received).anySatisfy(record -> {
+                    assertThat(record.key()).isEqualTo(code);
+                    assertThat(record.value())
+                            .isInstanceOfSatisfying(FeatureCreatedEvent.class, event -> assertThat(event.title())
+                                    .isEqualTo("Outbox feature"));
+                });
+            });
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(outboxEventRepository.count())
+                    .isZero());
+        }
+    }
+}
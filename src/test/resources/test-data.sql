@@ -1,4 +1,6 @@
+delete from feature_changes;
 delete from favorite_features;
+delete from feature_status_counts;
 delete from comments;
 delete from features;
 delete from releases;
@@ -27,6 +29,9 @@ insert into features (id, product_id, release_id, code, title, description, stat
 (3, 2, null, 'GO-3', 'Make Go to Type and Go to Symbol dumb aware', 'Make Go to Type and Go to Symbol dumb aware', 'IN_PROGRESS', 'antonarhipov', 'andreybelyaev', '2024-01-14')
 ;
 
+insert into feature_status_counts (product_id, release_id, status, feature_count)
+select product_id, release_id, status, count(*) from features group by product_id, release_id, status;
+
 insert into favorite_features (id, feature_id, user_id) values
 (1, 2, 'user');
 